@@ -0,0 +1,117 @@
+package com.dougdomingos.expensetracker.benchmarks;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.dougdomingos.expensetracker.auth.AuthenticatedUser;
+import com.dougdomingos.expensetracker.config.CacheNames;
+import com.dougdomingos.expensetracker.dto.transaction.BalanceResponseDTO;
+import com.dougdomingos.expensetracker.dto.transaction.LedgerVerificationReportDTO;
+import com.dougdomingos.expensetracker.entities.transaction.TransactionType;
+import com.dougdomingos.expensetracker.repositories.projections.BalanceSummary;
+import com.dougdomingos.expensetracker.services.transaction.BalanceLedgerService;
+import com.dougdomingos.expensetracker.services.transaction.BalanceServiceImpl;
+
+/**
+ * Balance requests served from the balance cache and computed from the
+ * ledger totals. The ledger is stubbed, so the numbers exclude the database.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BalanceBenchmark {
+
+    private BalanceServiceImpl cachedBalanceService;
+
+    private BalanceServiceImpl uncachedBalanceService;
+
+    private YearMonth month;
+
+    @Setup
+    public void setup() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken(UUID.randomUUID().toString(), null));
+
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager(CacheNames.BALANCES);
+        cachedBalanceService = balanceService(caffeineCacheManager);
+        uncachedBalanceService = balanceService(new NoOpCacheManager());
+        month = YearMonth.now();
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public BalanceResponseDTO cachedBalance() {
+        return cachedBalanceService.getBalance(month);
+    }
+
+    @Benchmark
+    public BalanceResponseDTO computedBalance() {
+        return uncachedBalanceService.getBalance(month);
+    }
+
+    private BalanceServiceImpl balanceService(CacheManager cacheManager) {
+        return new BalanceServiceImpl(new StubLedgerService(), new AuthenticatedUser(null), cacheManager);
+    }
+
+    private static class StubLedgerService implements BalanceLedgerService {
+
+        private final BalanceSummary totals = new BalanceSummary() {
+
+            @Override
+            public Double getIncome() {
+                return 4250.0;
+            }
+
+            @Override
+            public Double getExpense() {
+                return -3175.5;
+            }
+        };
+
+        @Override
+        public BalanceSummary getMonthlyTotals(UUID ownerId, YearMonth month) {
+            return totals;
+        }
+
+        @Override
+        public void recordTransactionChange(
+                UUID ownerId,
+                LocalDateTime createdAt,
+                TransactionType type,
+                Double amountDelta) {
+        }
+
+        @Override
+        public void recordTransactionChange(
+                UUID ownerId,
+                LocalDateTime createdAt,
+                Double incomeDelta,
+                Double expenseDelta) {
+        }
+
+        @Override
+        public LedgerVerificationReportDTO verifyLedger(boolean repair) {
+            return LedgerVerificationReportDTO.builder().build();
+        }
+    }
+}
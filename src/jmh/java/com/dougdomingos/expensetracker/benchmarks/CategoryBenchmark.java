@@ -0,0 +1,71 @@
+package com.dougdomingos.expensetracker.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.dougdomingos.expensetracker.entities.categories.Category;
+import com.dougdomingos.expensetracker.entities.transaction.Transaction;
+import com.dougdomingos.expensetracker.entities.transaction.TransactionType;
+
+/**
+ * Membership changes on categories that already hold many transactions. Each
+ * operation adds and removes the same transaction, so the set keeps its size
+ * across iterations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CategoryBenchmark {
+
+    @Param({ "1000", "100000" })
+    private int size;
+
+    private Category category;
+
+    private Transaction member;
+
+    private Transaction outsider;
+
+    @Setup
+    public void setup() {
+        category = Category.builder()
+                .categoryId(1L)
+                .name("Benchmark")
+                .categoryType(TransactionType.INCOME)
+                .build();
+
+        for (long id = 0; id < size; id++) {
+            category.addTransaction(transaction(id));
+        }
+
+        member = transaction(size / 2L);
+        outsider = transaction(size + 1L);
+    }
+
+    @Benchmark
+    public boolean addAndRemove() {
+        return category.addTransaction(outsider) & category.removeTransaction(outsider);
+    }
+
+    @Benchmark
+    public boolean addExisting() {
+        return category.addTransaction(member);
+    }
+
+    private Transaction transaction(long id) {
+        return Transaction.builder()
+                .transactionId(id)
+                .transactionType(TransactionType.INCOME)
+                .title("Transaction " + id)
+                .amount(1.0 * id)
+                .build();
+    }
+}
@@ -0,0 +1,75 @@
+package com.dougdomingos.expensetracker.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.dougdomingos.expensetracker.dto.category.CategoryResponseDTO;
+import com.dougdomingos.expensetracker.dto.transaction.TransactionResponseDTO;
+import com.dougdomingos.expensetracker.entities.categories.Category;
+import com.dougdomingos.expensetracker.entities.transaction.Transaction;
+import com.dougdomingos.expensetracker.entities.transaction.TransactionType;
+import com.dougdomingos.expensetracker.mappers.CategoryMapper;
+import com.dougdomingos.expensetracker.mappers.TransactionMapper;
+
+/**
+ * Entity to DTO mapping of a listing page and of a category with its
+ * transactions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MapperBenchmark {
+
+    @Param({ "100", "10000" })
+    private int size;
+
+    private List<Transaction> transactions;
+
+    private Category category;
+
+    @Setup
+    public void setup() {
+        transactions = new ArrayList<>(size);
+        category = Category.builder()
+                .categoryId(1L)
+                .name("Benchmark")
+                .categoryType(TransactionType.EXPENSE)
+                .build();
+
+        LocalDateTime createdAt = LocalDateTime.now();
+        for (long id = 0; id < size; id++) {
+            Transaction transaction = Transaction.builder()
+                    .transactionId(id)
+                    .transactionType(TransactionType.EXPENSE)
+                    .title("Transaction " + id)
+                    .description("Benchmark transaction")
+                    .amount(-1.0 * id)
+                    .createdAt(createdAt.minusMinutes(id))
+                    .build();
+
+            transactions.add(transaction);
+            category.addTransaction(transaction);
+        }
+    }
+
+    @Benchmark
+    public List<TransactionResponseDTO> transactionResponses() {
+        return TransactionMapper.toResponses(transactions);
+    }
+
+    @Benchmark
+    public CategoryResponseDTO categoryResponse() {
+        return CategoryMapper.toResponse(category);
+    }
+}
@@ -0,0 +1,54 @@
+package com.dougdomingos.expensetracker.benchmarks;
+
+import java.util.Arrays;
+
+import com.dougdomingos.expensetracker.auth.RehashingBCryptPasswordEncoder;
+
+/**
+ * Picks the BCrypt cost for {@code expensetracker.password-hashing.strength}
+ * on the current hardware: the highest cost whose median verification time
+ * stays within the target latency (in milliseconds, 250 by default).
+ */
+public class PasswordCostCalibration {
+
+    private static final int MIN_STRENGTH = 4;
+
+    private static final int MAX_STRENGTH = 31;
+
+    private static final int SAMPLES = 7;
+
+    public static void main(String[] args) {
+        double targetMillis = args.length > 0 ? Double.parseDouble(args[0]) : 250.0;
+        int chosen = MIN_STRENGTH;
+
+        for (int strength = MIN_STRENGTH; strength <= MAX_STRENGTH; strength++) {
+            double millis = medianMatchMillis(strength);
+            System.out.printf("strength %2d: %10.2f ms%n", strength, millis);
+
+            if (millis > targetMillis) {
+                break;
+            }
+            chosen = strength;
+        }
+
+        System.out.printf("Recommended strength for a %.0f ms target: %d%n", targetMillis, chosen);
+    }
+
+    private static double medianMatchMillis(int strength) {
+        RehashingBCryptPasswordEncoder passwordEncoder = new RehashingBCryptPasswordEncoder(strength);
+        String encodedPassword = passwordEncoder.encode("calibration");
+
+        // Warm up once, then sample
+        passwordEncoder.matches("calibration", encodedPassword);
+
+        double[] samples = new double[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            passwordEncoder.matches("calibration", encodedPassword);
+            samples[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+}
@@ -0,0 +1,42 @@
+package com.dougdomingos.expensetracker.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.dougdomingos.expensetracker.auth.RehashingBCryptPasswordEncoder;
+
+/**
+ * Password verification at a few BCrypt costs, i.e. the CPU time of a login.
+ * Each step of the cost doubles it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PasswordHashBenchmark {
+
+    @Param({ "10", "11", "12" })
+    private int strength;
+
+    private RehashingBCryptPasswordEncoder passwordEncoder;
+
+    private String encodedPassword;
+
+    @Setup
+    public void setup() {
+        passwordEncoder = new RehashingBCryptPasswordEncoder(strength);
+        encodedPassword = passwordEncoder.encode("benchmark");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches("benchmark", encodedPassword);
+    }
+}
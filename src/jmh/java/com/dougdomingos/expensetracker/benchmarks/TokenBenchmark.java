@@ -0,0 +1,120 @@
+package com.dougdomingos.expensetracker.benchmarks;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.dougdomingos.expensetracker.auth.FileJwtKeyStore;
+import com.dougdomingos.expensetracker.auth.JWTAuthProvider;
+import com.dougdomingos.expensetracker.auth.JwtKeyManager;
+import com.dougdomingos.expensetracker.auth.TokenGenerator;
+import com.dougdomingos.expensetracker.entities.user.Role;
+import com.dougdomingos.expensetracker.entities.user.User;
+import com.dougdomingos.expensetracker.services.job.JobLeaseService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Signing of login tokens and verification of the token sent with every
+ * authenticated request, with the encoder and decoder of
+ * {@code JWTAuthProvider} for each supported algorithm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TokenBenchmark {
+
+    @Param({ "RS256", "ES256" })
+    private String algorithm;
+
+    private Path keyStoreDirectory;
+
+    private TokenGenerator tokenGenerator;
+
+    private JwtDecoder jwtDecoder;
+
+    private JwtDecoder cachingJwtDecoder;
+
+    private User user;
+
+    private String token;
+
+    @Setup
+    public void setup() throws Exception {
+        keyStoreDirectory = Files.createTempDirectory("jwt-keys");
+
+        JwtKeyManager keyManager = new JwtKeyManager(
+                new FileJwtKeyStore(keyStoreDirectory.resolve("jwt-keys.json")),
+                new JobLeaseService() {
+                    @Override
+                    public boolean runExclusively(String jobName, Runnable job) {
+                        job.run();
+                        return true;
+                    }
+
+                    @Override
+                    public void renewLease(String jobName) {
+                    }
+                },
+                algorithm,
+                Duration.ofDays(30),
+                Duration.ofHours(1),
+                Duration.ofMinutes(6));
+
+        JWTAuthProvider authProvider = new JWTAuthProvider();
+
+        tokenGenerator = new TokenGenerator(authProvider.jwtEncoder(keyManager), keyManager);
+        ReflectionTestUtils.setField(tokenGenerator, "issuerName", "expensetracker");
+
+        // Without room for cached tokens, every decode verifies the signature
+        jwtDecoder = authProvider.jwtDecoder(keyManager, new SimpleMeterRegistry(), 0);
+        cachingJwtDecoder = authProvider.jwtDecoder(keyManager, new SimpleMeterRegistry(), 1000);
+
+        user = User.builder()
+                .userId(UUID.randomUUID())
+                .username("benchmark")
+                .roles(Set.of(Role.builder().roleName(Role.TypeRole.USER).build()))
+                .build();
+
+        token = tokenGenerator.generateToken(user, 3600L);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        try (var files = Files.walk(keyStoreDirectory)) {
+            files.sorted(Comparator.reverseOrder()).forEach((file) -> file.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public String encode() {
+        return tokenGenerator.generateToken(user, 3600L);
+    }
+
+    @Benchmark
+    public Jwt decode() {
+        return jwtDecoder.decode(token);
+    }
+
+    @Benchmark
+    public Jwt decodeCached() {
+        return cachingJwtDecoder.decode(token);
+    }
+}
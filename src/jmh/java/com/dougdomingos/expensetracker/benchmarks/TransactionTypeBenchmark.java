@@ -0,0 +1,30 @@
+package com.dougdomingos.expensetracker.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import com.dougdomingos.expensetracker.entities.transaction.TransactionType;
+
+/**
+ * Validation of the type filter sent with every transaction listing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TransactionTypeBenchmark {
+
+    @Param({ "INCOME", "expense", "unknown" })
+    private String type;
+
+    @Benchmark
+    public boolean isTypeDefined() {
+        return TransactionType.isTypeDefined(type);
+    }
+}
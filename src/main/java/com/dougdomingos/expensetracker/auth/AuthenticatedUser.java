@@ -0,0 +1,41 @@
+package com.dougdomingos.expensetracker.auth;
+
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+
+import com.dougdomingos.expensetracker.entities.user.User;
+import com.dougdomingos.expensetracker.repositories.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The user behind the current request, known from the JWT subject alone.
+ * Neither method queries the users table: queries filter by the raw ID, and
+ * writes point their foreign keys to an uninitialized reference.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuthenticatedUser {
+
+    private final UserRepository userRepository;
+
+    /**
+     * Returns the ID of the authenticated user.
+     * 
+     * @return The user ID from the JWT subject
+     */
+    public UUID getId() {
+        return AuthUtils.getAuthenticatedUserID();
+    }
+
+    /**
+     * Returns a lazy reference to the authenticated user, to be set as the owner
+     * of new entities. Reading anything but its ID loads the user.
+     * 
+     * @return A reference to the user entity
+     */
+    public User getReference() {
+        return userRepository.getReferenceById(getId());
+    }
+}
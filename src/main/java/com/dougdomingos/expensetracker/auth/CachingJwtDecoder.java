@@ -0,0 +1,99 @@
+package com.dougdomingos.expensetracker.auth;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Remembers the tokens already verified, so clients sending the same token on
+ * every request only pay for its signature check once. Tokens are keyed by
+ * their SHA-256 hash and kept until they expire; rejected tokens are never
+ * cached.
+ * <p>
+ * Besides the cache metrics (as {@code verifiedTokens}), the time spent on
+ * verifications is timed as {@code expensetracker.jwt.verification}, and
+ * {@code expensetracker.jwt.verification.saved} estimates the time skipped on
+ * cache hits from its mean.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private static final String CACHE_NAME = "verifiedTokens";
+
+    private final JwtDecoder delegate;
+
+    private final Cache<String, Jwt> verifiedTokens;
+
+    private final Timer verificationTimer;
+
+    public CachingJwtDecoder(JwtDecoder delegate, long maximumSize, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpires())
+                .recordStats()
+                .build();
+        this.verificationTimer = Timer.builder("expensetracker.jwt.verification")
+                .register(meterRegistry);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, CACHE_NAME);
+        FunctionCounter.builder("expensetracker.jwt.verification.saved", this,
+                (decoder) -> decoder.verifiedTokens.stats().hitCount() * decoder.verificationTimer.mean(TimeUnit.SECONDS))
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String tokenHash = TokenHashes.sha256(token);
+
+        Jwt cached = verifiedTokens.getIfPresent(tokenHash);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Verified outside the cache, so concurrent misses do not queue on a
+        // lock while the signature is checked
+        Jwt jwt = verificationTimer.record(() -> delegate.decode(token));
+        verifiedTokens.put(tokenHash, jwt);
+        return jwt;
+    }
+
+    /**
+     * Keeps each token until its {@code exp} claim; tokens without one are not
+     * kept at all.
+     */
+    private static class UntilTokenExpires implements Expiry<String, Jwt> {
+
+        @Override
+        public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+            Instant expiresAt = jwt.getExpiresAt();
+            if (expiresAt == null) {
+                return 0;
+            }
+            return Math.max(0, Duration.between(Instant.now(), expiresAt).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
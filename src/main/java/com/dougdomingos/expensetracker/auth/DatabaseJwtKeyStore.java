@@ -0,0 +1,136 @@
+package com.dougdomingos.expensetracker.auth;
+
+import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.dougdomingos.expensetracker.entities.auth.JwtSigningKey;
+import com.dougdomingos.expensetracker.repositories.JwtSigningKeyRepository;
+import com.nimbusds.jose.EncryptionMethod;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWEAlgorithm;
+import com.nimbusds.jose.JWEHeader;
+import com.nimbusds.jose.JWEObject;
+import com.nimbusds.jose.Payload;
+import com.nimbusds.jose.crypto.DirectDecrypter;
+import com.nimbusds.jose.crypto.DirectEncrypter;
+import com.nimbusds.jose.jwk.JWK;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the signing keys in the application database, where every node of the
+ * cluster finds them. Keys are stored encrypted with the key-encryption key
+ * (AES-256-GCM, as a JWE naming the key ID, so a row cannot pass for another).
+ * Keys stored in plain text by earlier versions are still read, and encrypted
+ * the first time they are.
+ */
+@Slf4j
+public class DatabaseJwtKeyStore implements JwtKeyStore {
+
+    private final JwtSigningKeyRepository signingKeys;
+
+    private final SecretKey keyEncryptionKey;
+
+    public DatabaseJwtKeyStore(JwtSigningKeyRepository signingKeys, SecretKey keyEncryptionKey) {
+        this.signingKeys = signingKeys;
+        this.keyEncryptionKey = keyEncryptionKey;
+    }
+
+    @Override
+    public List<JWK> loadKeys() {
+        return signingKeys.findAll()
+                .stream()
+                .map(this::read)
+                .toList();
+    }
+
+    @Override
+    public void addKey(JWK key) {
+        signingKeys.save(JwtSigningKey.builder()
+                .keyId(key.getKeyID())
+                .jwk(encrypt(key))
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    @Override
+    public void removeKey(String keyId) {
+        signingKeys.deleteById(keyId);
+    }
+
+    /**
+     * Decodes a key-encryption key: 32 random bytes in Base64, e.g. from
+     * {@code openssl rand -base64 32}.
+     */
+    public static SecretKey parseKeyEncryptionKey(String encoded) {
+        if (encoded == null || encoded.isBlank()) {
+            throw new IllegalStateException(
+                    "expensetracker.jwt.key-encryption-key must be set to store signing keys in the database");
+        }
+
+        byte[] key = Base64.getDecoder().decode(encoded.trim());
+        if (key.length != 32) {
+            throw new IllegalArgumentException("The key-encryption key must be 32 bytes long, not " + key.length);
+        }
+
+        return new SecretKeySpec(key, "AES");
+    }
+
+    private JWK read(JwtSigningKey signingKey) {
+        if (!signingKey.getJwk().startsWith("{")) {
+            return decrypt(signingKey);
+        }
+
+        JWK key = parse(signingKey.getKeyId(), signingKey.getJwk());
+        signingKey.setJwk(encrypt(key));
+        signingKeys.save(signingKey);
+        log.info("Encrypted stored signing key {}", signingKey.getKeyId());
+
+        return key;
+    }
+
+    private String encrypt(JWK key) {
+        JWEObject jwe = new JWEObject(
+                new JWEHeader.Builder(JWEAlgorithm.DIR, EncryptionMethod.A256GCM)
+                        .keyID(key.getKeyID())
+                        .build(),
+                new Payload(key.toJSONString()));
+
+        try {
+            jwe.encrypt(new DirectEncrypter(keyEncryptionKey));
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Unable to encrypt signing key " + key.getKeyID(), e);
+        }
+
+        return jwe.serialize();
+    }
+
+    private JWK decrypt(JwtSigningKey signingKey) {
+        try {
+            JWEObject jwe = JWEObject.parse(signingKey.getJwk());
+            if (!signingKey.getKeyId().equals(jwe.getHeader().getKeyID())) {
+                throw new IllegalStateException("Stored signing key " + signingKey.getKeyId() + " names another key");
+            }
+
+            jwe.decrypt(new DirectDecrypter(keyEncryptionKey));
+            return parse(signingKey.getKeyId(), jwe.getPayload().toString());
+        } catch (ParseException | JOSEException e) {
+            throw new IllegalStateException(
+                    "Stored signing key " + signingKey.getKeyId() + " cannot be decrypted with the key-encryption key",
+                    e);
+        }
+    }
+
+    private static JWK parse(String keyId, String json) {
+        try {
+            return JWK.parse(json);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Stored signing key " + keyId + " is not a valid JWK", e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.dougdomingos.expensetracker.auth;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+
+/**
+ * Keeps the signing keys in a JWK Set file, readable by its owner only. Meant
+ * for single node deployments, as nodes do not see each other's writes unless
+ * they share the file.
+ */
+public class FileJwtKeyStore implements JwtKeyStore {
+
+    private final Path path;
+
+    public FileJwtKeyStore(Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public synchronized List<JWK> loadKeys() {
+        if (!Files.exists(path)) {
+            return List.of();
+        }
+
+        try {
+            return JWKSet.parse(Files.readString(path, StandardCharsets.UTF_8)).getKeys();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read the signing keys from " + path, e);
+        } catch (ParseException e) {
+            throw new IllegalStateException(path + " is not a valid JWK Set", e);
+        }
+    }
+
+    @Override
+    public synchronized void addKey(JWK key) {
+        List<JWK> keys = new ArrayList<>(loadKeys());
+        keys.add(key);
+        write(keys);
+    }
+
+    @Override
+    public synchronized void removeKey(String keyId) {
+        List<JWK> keys = new ArrayList<>(loadKeys());
+        if (keys.removeIf((key) -> keyId.equals(key.getKeyID()))) {
+            write(keys);
+        }
+    }
+
+    /**
+     * Replaces the file through a temporary one, so readers never see a
+     * partially written key set.
+     */
+    private void write(List<JWK> keys) {
+        try {
+            Path directory = path.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+
+            Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+            restrictToOwner(temporary);
+            Files.writeString(temporary, new JWKSet(keys).toString(false), StandardCharsets.UTF_8);
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write the signing keys to " + path, e);
+        }
+    }
+
+    private static void restrictToOwner(Path file) throws IOException {
+        try {
+            Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException e) {
+            // Not a POSIX file system; rely on the permissions of the directory
+        }
+    }
+}
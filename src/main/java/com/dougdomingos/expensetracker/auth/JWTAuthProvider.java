@@ -1,68 +1,96 @@
 package com.dougdomingos.expensetracker.auth;
 
-import java.security.KeyPair;
-import java.security.KeyPairGenerator;
-import java.security.NoSuchAlgorithmException;
-import java.security.interfaces.RSAPrivateKey;
-import java.security.interfaces.RSAPublicKey;
+import java.nio.file.Path;
+import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 
-import com.nimbusds.jose.jwk.JWK;
-import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.RSAKey;
-import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.dougdomingos.expensetracker.repositories.JwtSigningKeyRepository;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Configuration
 public class JWTAuthProvider {
 
+    private static final String BCRYPT_ID = "bcrypt";
+
+    /**
+     * Signs tokens with the current key of the key manager, which also names it
+     * in the {@code kid} header.
+     */
     @Bean
-    public KeyPair keyPair() {
-        KeyPair keys = null;
-        KeyPairGenerator generator;
-
-        try {
-            generator = KeyPairGenerator.getInstance("RSA");
-            generator.initialize(2048);
-            keys = generator.generateKeyPair();
-        } catch (NoSuchAlgorithmException e) {
-            System.err.println("Unable to generate RSA key pair!");
-            e.printStackTrace();
-        }
-
-        return keys;
+    public JwtEncoder jwtEncoder(JwtKeyManager keyManager) {
+        return new NimbusJwtEncoder(keyManager.signingKeySource());
     }
 
+    /**
+     * Verifies tokens with the public key named by their {@code kid} header, out
+     * of the parsed keys held by the key manager. Claims are validated by Spring
+     * Security's default validators instead of Nimbus. Unless disabled, tokens
+     * already verified are served from a cache until they expire.
+     */
     @Bean
-    public JwtEncoder jwtEncoder() {
-        RSAPublicKey publicKey = (RSAPublicKey) keyPair().getPublic();
-        RSAPrivateKey privateKey = (RSAPrivateKey) keyPair().getPrivate();
+    public JwtDecoder jwtDecoder(
+            JwtKeyManager keyManager,
+            MeterRegistry meterRegistry,
+            @Value("${expensetracker.jwt.verified-tokens-max-size:100000}") long verifiedTokensMaxSize) {
+
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(keyManager);
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
 
-        JWK jwk = new RSAKey.Builder(publicKey)
-                .privateKey(privateKey)
-                .build();
+        JwtDecoder jwtDecoder = new NimbusJwtDecoder(jwtProcessor);
+
+        return verifiedTokensMaxSize > 0
+                ? new CachingJwtDecoder(jwtDecoder, verifiedTokensMaxSize, meterRegistry)
+                : jwtDecoder;
+    }
 
-        var jwks = new ImmutableJWKSet<>(new JWKSet(jwk));
+    @Bean
+    @ConditionalOnProperty(name = "expensetracker.jwt.key-store", havingValue = "file")
+    public JwtKeyStore fileJwtKeyStore(
+            @Value("${expensetracker.jwt.key-store-path:jwt-keys.json}") Path path) {
 
-        return new NimbusJwtEncoder(jwks);
+        return new FileJwtKeyStore(path);
     }
 
     @Bean
-    public JwtDecoder jwtDecoder() {
-        RSAPublicKey publicKey = (RSAPublicKey) keyPair().getPublic();
-        return NimbusJwtDecoder
-                .withPublicKey(publicKey)
-                .build();
+    @ConditionalOnProperty(name = "expensetracker.jwt.key-store", havingValue = "database", matchIfMissing = true)
+    public JwtKeyStore databaseJwtKeyStore(
+            JwtSigningKeyRepository signingKeys,
+            @Value("${expensetracker.jwt.key-encryption-key:}") String keyEncryptionKey) {
+
+        return new DatabaseJwtKeyStore(signingKeys, DatabaseJwtKeyStore.parseKeyEncryptionKey(keyEncryptionKey));
     }
 
+    /**
+     * Encodes new passwords with BCrypt at the configured cost, prefixed with the
+     * encoder ID. Hashes stored before the prefix existed are still matched with
+     * BCrypt, and both they and hashes of another cost are flagged for a rehash.
+     */
     @Bean
-    public BCryptPasswordEncoder bCryptPasswordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${expensetracker.password-hashing.strength:10}") int strength) {
+
+        PasswordEncoder bcrypt = new RehashingBCryptPasswordEncoder(strength);
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(
+                BCRYPT_ID,
+                Map.of(BCRYPT_ID, bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        return encoder;
     }
 }
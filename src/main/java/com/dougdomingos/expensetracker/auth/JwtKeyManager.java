@@ -0,0 +1,327 @@
+package com.dougdomingos.expensetracker.auth;
+
+import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.dougdomingos.expensetracker.services.job.JobLeaseService;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.jwk.AsymmetricJWK;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.JWSKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Signing keys of the access tokens, shared by every node through the key
+ * store. Tokens are signed with the newest active key of the configured
+ * algorithm and name it in their {@code kid} header. A rotated key is published
+ * for the activation delay before it becomes active, so every node has loaded
+ * it by the time tokens signed with it arrive. Every stored key is kept in
+ * memory, already parsed, to verify tokens until it has been superseded for
+ * longer than any token it signed can live.
+ */
+@Slf4j
+@Component
+public class JwtKeyManager implements JWSKeySelector<SecurityContext> {
+
+    private static final String ROTATION_JOB_NAME = "jwt-key-rotation";
+
+    // Tokens naming an unknown key reload the store at most this often
+    private static final long MIN_RELOAD_INTERVAL_NANOS = Duration.ofSeconds(5).toNanos();
+
+    private final JwtKeyStore keyStore;
+
+    private final JobLeaseService jobLeaseService;
+
+    private final JWSAlgorithm algorithm;
+
+    private final Duration rotationPeriod;
+
+    private final Duration retiredKeyTtl;
+
+    private final Duration activationDelay;
+
+    private volatile KeySnapshot keys;
+
+    private volatile long lastReloadNanos;
+
+    public JwtKeyManager(
+            JwtKeyStore keyStore,
+            JobLeaseService jobLeaseService,
+            @Value("${expensetracker.jwt.algorithm:RS256}") String algorithm,
+            @Value("${expensetracker.jwt.rotation-period:P30D}") Duration rotationPeriod,
+            @Value("${expensetracker.jwt.retired-key-ttl:PT1H}") Duration retiredKeyTtl,
+            @Value("${expensetracker.jwt.key-activation-delay:PT6M}") Duration activationDelay) {
+
+        this.keyStore = keyStore;
+        this.jobLeaseService = jobLeaseService;
+        this.algorithm = parseAlgorithm(algorithm);
+        this.rotationPeriod = rotationPeriod;
+        this.retiredKeyTtl = retiredKeyTtl;
+        this.activationDelay = activationDelay;
+
+        reloadKeys();
+        if (keys.signingKey() == null) {
+            rotateKeys();
+        }
+    }
+
+    /**
+     * Source of the key signing new tokens, for the JWT encoder.
+     */
+    public JWKSource<SecurityContext> signingKeySource() {
+        return (selector, context) -> selector.select(keys.activeSigningKeySet());
+    }
+
+    public JWSAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Selects the public key named by the {@code kid} header of a token, if it is
+     * known and of the algorithm in the header.
+     */
+    @Override
+    public List<? extends Key> selectJWSKeys(JWSHeader header, SecurityContext context) {
+        String keyId = header.getKeyID();
+        if (keyId == null) {
+            return List.of();
+        }
+
+        VerificationKey key = keys.verificationKeys().get(keyId);
+        if (key == null && reloadAllowed()) {
+            // The key may have just been added by another node
+            reloadKeys();
+            key = keys.verificationKeys().get(keyId);
+        }
+
+        return key != null && key.algorithm().equals(header.getAlgorithm())
+                ? List.of(key.publicKey())
+                : List.of();
+    }
+
+    /**
+     * Generates a new signing key, which signs every token once the activation
+     * delay is over; right away if there is no key of the algorithm to sign with
+     * meanwhile. Older keys still verify the tokens they signed until they are
+     * removed.
+     */
+    public synchronized void rotateKeys() {
+        Instant activeFrom = keys.signingKey() != null ? Instant.now().plus(activationDelay) : Instant.now();
+
+        JWK key = generateKey(algorithm, activeFrom);
+        keyStore.addKey(key);
+        reloadKeys();
+
+        log.info("Rotated the token signing key, signing with {} key {} from {}",
+                algorithm, key.getKeyID(), activeFrom);
+    }
+
+    @Scheduled(cron = "${expensetracker.jwt.rotation-cron:0 0 4 * * *}")
+    public void scheduledKeyRotation() {
+        jobLeaseService.runExclusively(ROTATION_JOB_NAME, () -> {
+            reloadKeys();
+
+            JWK newestKey = keys.nextSigningKey() != null ? keys.nextSigningKey() : keys.signingKey();
+            if (newestKey == null || issuedAt(newestKey).plus(rotationPeriod).isBefore(Instant.now())) {
+                rotateKeys();
+            }
+
+            removeRetiredKeys();
+        });
+    }
+
+    /**
+     * Picks up the keys rotated or removed by other nodes.
+     */
+    @Scheduled(
+            fixedDelayString = "${expensetracker.jwt.refresh-interval:PT5M}",
+            initialDelayString = "${expensetracker.jwt.refresh-interval:PT5M}")
+    public void refreshKeys() {
+        reloadKeys();
+    }
+
+    private synchronized void reloadKeys() {
+        lastReloadNanos = System.nanoTime();
+
+        List<JWK> allKeys = keyStore.loadKeys();
+        List<JWK> stored = allKeys.stream()
+                .filter((key) -> !isRetired(key, allKeys))
+                .toList();
+
+        // Keys not active yet only sign once active, unless there is no other
+        Instant now = Instant.now();
+        List<JWK> ownKeys = stored.stream()
+                .filter((key) -> algorithm.equals(key.getAlgorithm()))
+                .sorted(Comparator.comparing(JwtKeyManager::issuedAt))
+                .toList();
+
+        JWK signingKey = ownKeys.stream()
+                .filter((key) -> !activeFrom(key).isAfter(now))
+                .reduce((older, newer) -> newer)
+                .orElse(ownKeys.isEmpty() ? null : ownKeys.get(ownKeys.size() - 1));
+
+        JWK nextSigningKey = ownKeys.isEmpty() || ownKeys.get(ownKeys.size() - 1) == signingKey
+                ? null
+                : ownKeys.get(ownKeys.size() - 1);
+
+        Map<String, VerificationKey> verificationKeys = new HashMap<>();
+        for (JWK key : stored) {
+            verificationKeys.put(key.getKeyID(), new VerificationKey(
+                    JWSAlgorithm.parse(key.getAlgorithm().getName()),
+                    toPublicKey(key)));
+        }
+
+        keys = new KeySnapshot(
+                signingKey,
+                signingKey != null ? new JWKSet(signingKey) : new JWKSet(),
+                nextSigningKey,
+                nextSigningKey != null ? new JWKSet(nextSigningKey) : null,
+                Map.copyOf(verificationKeys));
+    }
+
+    private void removeRetiredKeys() {
+        List<JWK> stored = keyStore.loadKeys();
+
+        for (JWK key : stored) {
+            if (isRetired(key, stored)) {
+                keyStore.removeKey(key.getKeyID());
+                log.info("Removed retired token signing key {}", key.getKeyID());
+            }
+        }
+        reloadKeys();
+    }
+
+    /**
+     * A key is retired once a newer key of its algorithm has been active for
+     * longer than the retired key TTL, so no token it signed is still valid.
+     * Keys of other algorithms never replace it, as nodes still configured with
+     * its algorithm keep signing with it.
+     */
+    private boolean isRetired(JWK key, List<JWK> stored) {
+        Instant issuedAt = issuedAt(key);
+
+        return stored.stream()
+                .filter((other) -> Objects.equals(other.getAlgorithm(), key.getAlgorithm()))
+                .filter((other) -> issuedAt(other).isAfter(issuedAt))
+                .map(JwtKeyManager::activeFrom)
+                .min(Comparator.naturalOrder())
+                .map((supersededAt) -> supersededAt.plus(retiredKeyTtl).isBefore(Instant.now()))
+                .orElse(false);
+    }
+
+    private boolean reloadAllowed() {
+        return System.nanoTime() - lastReloadNanos >= MIN_RELOAD_INTERVAL_NANOS;
+    }
+
+    /**
+     * Generates a signing key for the given algorithm, active right away: a
+     * 2048-bit RSA key for RS256, or a P-256 key for ES256.
+     */
+    public static JWK generateKey(JWSAlgorithm algorithm) {
+        return generateKey(algorithm, Instant.now());
+    }
+
+    /**
+     * Generates a signing key for the given algorithm that becomes active at the
+     * given time, recorded as its {@code nbf}.
+     */
+    public static JWK generateKey(JWSAlgorithm algorithm, Instant activeFrom) {
+        String keyId = UUID.randomUUID().toString();
+        Date now = new Date();
+        Date notBefore = Date.from(activeFrom);
+
+        try {
+            if (JWSAlgorithm.ES256.equals(algorithm)) {
+                return new ECKeyGenerator(Curve.P_256)
+                        .keyID(keyId)
+                        .keyUse(KeyUse.SIGNATURE)
+                        .algorithm(algorithm)
+                        .issueTime(now)
+                        .notBeforeTime(notBefore)
+                        .generate();
+            }
+
+            return new RSAKeyGenerator(2048)
+                    .keyID(keyId)
+                    .keyUse(KeyUse.SIGNATURE)
+                    .algorithm(algorithm)
+                    .issueTime(now)
+                    .notBeforeTime(notBefore)
+                    .generate();
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Unable to generate a " + algorithm + " signing key", e);
+        }
+    }
+
+    private static JWSAlgorithm parseAlgorithm(String name) {
+        JWSAlgorithm algorithm = JWSAlgorithm.parse(name);
+        if (!JWSAlgorithm.RS256.equals(algorithm) && !JWSAlgorithm.ES256.equals(algorithm)) {
+            throw new IllegalArgumentException("Unsupported token signing algorithm: " + name);
+        }
+        return algorithm;
+    }
+
+    private static Instant issuedAt(JWK key) {
+        return key.getIssueTime() != null ? key.getIssueTime().toInstant() : Instant.EPOCH;
+    }
+
+    /**
+     * Time from which a key signs tokens. Keys stored without one became active
+     * when they were issued.
+     */
+    private static Instant activeFrom(JWK key) {
+        return key.getNotBeforeTime() != null ? key.getNotBeforeTime().toInstant() : issuedAt(key);
+    }
+
+    private static Key toPublicKey(JWK key) {
+        try {
+            return ((AsymmetricJWK) key).toPublicKey();
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Signing key " + key.getKeyID() + " has no valid public key", e);
+        }
+    }
+
+    /**
+     * Keys loaded from the store. The next signing key, published but not active
+     * when the keys were loaded, takes over as soon as it becomes active, even
+     * before the keys are loaded again.
+     */
+    private record KeySnapshot(
+            JWK signingKey,
+            JWKSet signingKeySet,
+            JWK nextSigningKey,
+            JWKSet nextSigningKeySet,
+            Map<String, VerificationKey> verificationKeys) {
+
+        JWKSet activeSigningKeySet() {
+            return nextSigningKey != null && !activeFrom(nextSigningKey).isAfter(Instant.now())
+                    ? nextSigningKeySet
+                    : signingKeySet;
+        }
+    }
+
+    private record VerificationKey(JWSAlgorithm algorithm, Key publicKey) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.dougdomingos.expensetracker.auth;
+
+import java.util.List;
+
+import com.nimbusds.jose.jwk.JWK;
+
+/**
+ * Persistent storage of the token signing keys, private parts included.
+ */
+public interface JwtKeyStore {
+
+    List<JWK> loadKeys();
+
+    void addKey(JWK key);
+
+    void removeKey(String keyId);
+}
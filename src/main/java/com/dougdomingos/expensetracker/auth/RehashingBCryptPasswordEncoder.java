@@ -0,0 +1,33 @@
+package com.dougdomingos.expensetracker.auth;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * BCrypt encoder asking for a rehash whenever a stored hash was made with a
+ * cost other than the configured one. The stock encoder only upgrades weaker
+ * hashes, which would leave accounts hashed at a cost that was lowered later.
+ */
+public class RehashingBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$.{53}$");
+
+    private final int strength;
+
+    public RehashingBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+
+        Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+        return matcher.matches() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+}
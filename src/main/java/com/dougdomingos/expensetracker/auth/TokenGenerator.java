@@ -5,6 +5,8 @@ import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
 import org.springframework.security.oauth2.jwt.JwtClaimsSet;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
@@ -23,6 +25,8 @@ public class TokenGenerator {
 
     private final JwtEncoder jwtEncoder;
 
+    private final JwtKeyManager keyManager;
+
     /**
      * Generates a JWT for a given user and expiration time.
      * 
@@ -44,6 +48,9 @@ public class TokenGenerator {
                 .claim("scope", scopes)
                 .build();
 
-        return jwtEncoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
+        // The encoder selects the signing key matching the algorithm of the header
+        JwsHeader header = JwsHeader.with(SignatureAlgorithm.from(keyManager.getAlgorithm().getName())).build();
+
+        return jwtEncoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
     }
 }
@@ -0,0 +1,31 @@
+package com.dougdomingos.expensetracker.auth;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Hashes of tokens, used to look them up without keeping the tokens
+ * themselves.
+ */
+public final class TokenHashes {
+
+    private TokenHashes() {
+    }
+
+    /**
+     * Returns the SHA-256 hash of a token, Base64URL-encoded without padding.
+     */
+    public static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest
+                    .getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
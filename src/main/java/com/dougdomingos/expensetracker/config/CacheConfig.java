@@ -0,0 +1,76 @@
+package com.dougdomingos.expensetracker.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.dougdomingos.expensetracker.services.cache.BroadcastingCacheManager;
+import com.dougdomingos.expensetracker.services.cache.CacheInvalidationBus;
+import com.dougdomingos.expensetracker.services.cache.InMemoryCacheInvalidationBus;
+import com.dougdomingos.expensetracker.services.cache.PostgresCacheInvalidationBus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * In-process caches, each bounded by the size and TTL of its Caffeine spec.
+     * Evictions are deferred until the surrounding DB transaction commits, and
+     * a value read through {@code CacheLookups} is not stored if its key was
+     * evicted while it was read, so a concurrent read cannot cache a row that is
+     * about to change. Evictions are broadcast to the other nodes from within
+     * that transaction, so the message goes out with its commit.
+     */
+    @Bean
+    public CacheManager cacheManager(
+            CacheInvalidationBus invalidationBus,
+            @Value("${expensetracker.cache.users-spec:maximumSize=10000,expireAfterWrite=10m}") String usersSpec,
+            @Value("${expensetracker.cache.roles-spec:maximumSize=16,expireAfterWrite=1h}") String rolesSpec,
+            @Value("${expensetracker.cache.user-data-spec:maximumSize=50000,expireAfterWrite=30m}") String userDataSpec) {
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(CacheNames.USERS_BY_ID, buildCache(usersSpec));
+        cacheManager.registerCustomCache(CacheNames.USERS_BY_NAME, buildCache(usersSpec));
+        cacheManager.registerCustomCache(CacheNames.ROLES_BY_NAME, buildCache(rolesSpec));
+        cacheManager.registerCustomCache(CacheNames.BALANCES, buildCache(userDataSpec));
+        cacheManager.registerCustomCache(CacheNames.CATEGORY_SUMMARIES, buildCache(userDataSpec));
+
+        return new BroadcastingCacheManager(
+                new TransactionAwareCacheManagerProxy(cacheManager), invalidationBus);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "expensetracker.cache.invalidation", havingValue = "postgres")
+    public CacheInvalidationBus postgresCacheInvalidationBus(
+            DataSource dataSource,
+            DataSourceProperties dataSourceProperties,
+            @Value("${expensetracker.cache.invalidation-channel:cache_invalidation}") String channel) {
+
+        return new PostgresCacheInvalidationBus(
+                dataSource,
+                dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword(),
+                channel);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "expensetracker.cache.invalidation", havingValue = "in-memory", matchIfMissing = true)
+    public CacheInvalidationBus inMemoryCacheInvalidationBus() {
+        return new InMemoryCacheInvalidationBus();
+    }
+
+    private static Cache<Object, Object> buildCache(String spec) {
+        return Caffeine.from(spec).recordStats().build();
+    }
+}
@@ -0,0 +1,22 @@
+package com.dougdomingos.expensetracker.config;
+
+import java.time.YearMonth;
+import java.util.UUID;
+
+/**
+ * Keys of the per-user caches. Readers and writers must build keys through
+ * these methods, so that evictions always hit the cached entries.
+ */
+public final class CacheKeys {
+
+    private CacheKeys() {
+    }
+
+    public static String balance(UUID userId, YearMonth month) {
+        return userId + ":" + month;
+    }
+
+    public static String categorySummaries(UUID userId) {
+        return userId.toString();
+    }
+}
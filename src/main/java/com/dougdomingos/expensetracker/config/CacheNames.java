@@ -0,0 +1,21 @@
+package com.dougdomingos.expensetracker.config;
+
+/**
+ * Names of the application caches, shared by the cache configuration and the
+ * cached components.
+ */
+public final class CacheNames {
+
+    public static final String USERS_BY_ID = "usersById";
+
+    public static final String USERS_BY_NAME = "usersByName";
+
+    public static final String ROLES_BY_NAME = "rolesByName";
+
+    public static final String BALANCES = "balances";
+
+    public static final String CATEGORY_SUMMARIES = "categorySummaries";
+
+    private CacheNames() {
+    }
+}
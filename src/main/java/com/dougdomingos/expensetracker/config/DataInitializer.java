@@ -4,12 +4,13 @@ import java.util.Optional;
 import java.util.Set;
 
 import org.springframework.boot.CommandLineRunner;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 import com.dougdomingos.expensetracker.entities.user.Role;
 import com.dougdomingos.expensetracker.entities.user.Role.TypeRole;
 import com.dougdomingos.expensetracker.entities.user.User;
+import com.dougdomingos.expensetracker.repositories.CategoryRepository;
 import com.dougdomingos.expensetracker.repositories.RolesRepository;
 import com.dougdomingos.expensetracker.repositories.UserRepository;
 
@@ -22,15 +23,18 @@ public class DataInitializer implements CommandLineRunner {
 
     private final RolesRepository roles;
 
+    private final CategoryRepository categories;
+
     private final UserRepository users;
 
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordEncoder passwordEncoder;
 
     @Override
     @Transactional
     public void run(String... args) throws Exception {
         initRolesInDB();
         createAdminUser();
+        categories.countMissingTransactionCounts();
     }
 
     /**
@@ -71,7 +75,7 @@ public class DataInitializer implements CommandLineRunner {
                     User admin = User.builder()
                             .username("admin")
                             .password(passwordEncoder.encode("admin"))
-                            .roles(Set.of(adminRole.get()))
+                            .roles(Set.of(roles.getReferenceById(adminRole.get().getRoleId())))
                             .build();
 
                     users.save(admin);
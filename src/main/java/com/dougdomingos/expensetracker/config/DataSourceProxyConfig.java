@@ -0,0 +1,39 @@
+package com.dougdomingos.expensetracker.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.dougdomingos.expensetracker.monitoring.QueryCountingListener;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+@Configuration
+public class DataSourceProxyConfig {
+
+    /**
+     * Wraps the data source so that every statement, from Hibernate and from
+     * plain JDBC alike, is counted in the statistics of the current request.
+     * The pool stays reachable through {@code unwrap}, so its metrics still bind.
+     */
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new QueryCountingListener())
+                            .build();
+                }
+
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package com.dougdomingos.expensetracker.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Binds the statistics of every Caffeine cache. Spring Boot only binds caches
+     * it recognizes as Caffeine caches, and ours are wrapped by the broadcasting
+     * and transaction-aware decorators, so their native caches are bound here.
+     */
+    @Bean
+    public MeterBinder caffeineCacheMetrics(CacheManager cacheManager) {
+        return (registry) -> cacheManager.getCacheNames().forEach((name) -> {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+                CaffeineCacheMetrics.monitor(registry, nativeCache, name);
+            }
+        });
+    }
+}
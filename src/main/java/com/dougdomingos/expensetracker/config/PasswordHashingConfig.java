@@ -0,0 +1,34 @@
+package com.dougdomingos.expensetracker.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class PasswordHashingConfig {
+
+    /**
+     * Workers hashing and verifying passwords. BCrypt is CPU bound, so the pool
+     * is sized to the processors (also in virtual thread mode) and its queue is
+     * bounded: once it is full, new requests are rejected instead of piling up
+     * on the request threads.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor passwordHashingExecutor(
+            @Value("${expensetracker.password-hashing.threads:0}") int threads,
+            @Value("${expensetracker.password-hashing.queue-capacity:64}") int queueCapacity) {
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setThreadNamePrefix("password-hashing-");
+        return executor;
+    }
+}
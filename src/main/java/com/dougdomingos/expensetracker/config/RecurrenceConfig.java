@@ -0,0 +1,39 @@
+package com.dougdomingos.expensetracker.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class RecurrenceConfig {
+
+    /**
+     * Workers of the partitioned recurrent transactions rollover. Every worker
+     * holds a DB connection while it runs, so their number should stay below the
+     * connection pool size. In virtual thread mode the workers are virtual
+     * threads, limited to the same concurrency.
+     */
+    @Bean
+    public TaskExecutor rolloverExecutor(
+            @Value("${expensetracker.recurrence.workers:4}") int workers,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("rollover-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(workers);
+            executor.setTaskTerminationTimeout(Long.MAX_VALUE);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setThreadNamePrefix("rollover-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+}
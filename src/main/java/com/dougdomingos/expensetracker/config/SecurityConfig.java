@@ -1,13 +1,21 @@
 package com.dougdomingos.expensetracker.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.boot.autoconfigure.security.servlet.PathRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 
 @Configuration
@@ -15,6 +23,42 @@ import org.springframework.security.web.SecurityFilterChain;
 @EnableMethodSecurity
 public class SecurityConfig {
 
+    /**
+     * The Prometheus endpoint is scraped with static HTTP basic credentials, as
+     * a scraper cannot obtain or refresh a user token. It stays closed while no
+     * scrape password is configured. The password may be given encoded with a
+     * {@code {id}} prefix (e.g. {@code {bcrypt}}); otherwise it is compared as is.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain prometheusFilterChain(
+            HttpSecurity http,
+            @Value("${expensetracker.metrics.scrape-username:prometheus}") String username,
+            @Value("${expensetracker.metrics.scrape-password:}") String password) throws Exception {
+
+        http.securityMatcher(EndpointRequest.to("prometheus"));
+
+        if (password.isBlank()) {
+            http.authorizeHttpRequests(auth -> auth.anyRequest().denyAll());
+        } else {
+            DaoAuthenticationProvider scraperProvider = new DaoAuthenticationProvider(
+                    PasswordEncoderFactories.createDelegatingPasswordEncoder());
+            scraperProvider.setUserDetailsService(new InMemoryUserDetailsManager(User
+                    .withUsername(username)
+                    .password(password.startsWith("{") ? password : "{noop}" + password)
+                    .build()));
+
+            http.authorizeHttpRequests(auth -> auth.anyRequest().authenticated())
+                    .authenticationManager(new ProviderManager(scraperProvider));
+        }
+
+        return http
+                .httpBasic(Customizer.withDefaults())
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .build();
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         return http
@@ -22,11 +66,16 @@ public class SecurityConfig {
                         .requestMatchers(
                                 "/users",
                                 "/users/login",
+                                "/users/token/refresh",
+                                "/users/token/revoke",
                                 "/v3/api-docs/**",
                                 "/swagger-ui.html",
-                                "/swagger-ui/**")
+                                "/swagger-ui/**",
+                                "/actuator/health")
                         .permitAll()
                         .requestMatchers(PathRequest.toH2Console()).permitAll()
+                        // Metrics expose usernames, cache keys and traffic of every user
+                        .requestMatchers(EndpointRequest.to("metrics")).hasAuthority("SCOPE_ADMIN")
                         .anyRequest().authenticated())
                 .csrf(csrf -> csrf.disable())
                 .headers((headers) -> headers.frameOptions((frame) -> frame.sameOrigin()))
@@ -0,0 +1,34 @@
+package com.dougdomingos.expensetracker.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+@Configuration
+public class TaskExecutionConfig {
+
+    /**
+     * General purpose executor of the application (async MVC requests,
+     * {@code @Async} methods), configured by the {@code spring.task.execution}
+     * properties. Spring Boot backs off from defining it once any other
+     * executor bean exists, as the rollover and password hashing pools do, so
+     * it is defined here the same way Boot would.
+     */
+    @Lazy
+    @Bean(name = { "applicationTaskExecutor", "taskExecutor" })
+    public AsyncTaskExecutor applicationTaskExecutor(
+            ThreadPoolTaskExecutorBuilder threadPoolTaskExecutorBuilder,
+            SimpleAsyncTaskExecutorBuilder simpleAsyncTaskExecutorBuilder,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+
+        if (virtualThreads) {
+            return simpleAsyncTaskExecutorBuilder.build();
+        }
+
+        return threadPoolTaskExecutorBuilder.build();
+    }
+}
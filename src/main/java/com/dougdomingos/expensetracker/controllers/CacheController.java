@@ -0,0 +1,34 @@
+package com.dougdomingos.expensetracker.controllers;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.dougdomingos.expensetracker.dto.cache.CacheStatisticsDTO;
+import com.dougdomingos.expensetracker.services.cache.CacheStatisticsService;
+
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping(value = "/caches", produces = MediaType.APPLICATION_JSON_VALUE)
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer Authentication")
+public class CacheController {
+
+    private final CacheStatisticsService cacheStatisticsService;
+
+    @GetMapping
+    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    public ResponseEntity<List<CacheStatisticsDTO>> getCacheStatistics() {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(cacheStatisticsService.getStatistics());
+    }
+}
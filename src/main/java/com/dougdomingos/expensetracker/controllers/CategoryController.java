@@ -12,11 +12,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.dougdomingos.expensetracker.dto.category.CategoryAssignmentDTO;
 import com.dougdomingos.expensetracker.dto.category.CategoryResponseDTO;
+import com.dougdomingos.expensetracker.dto.category.CategorySummaryDTO;
 import com.dougdomingos.expensetracker.dto.category.CreateCategoryDTO;
 import com.dougdomingos.expensetracker.dto.category.EditCategoryDTO;
+import com.dougdomingos.expensetracker.dto.transaction.TransactionPageResponseDTO;
 import com.dougdomingos.expensetracker.services.category.CategoryService;
 import com.dougdomingos.expensetracker.services.category.CategoryTransactionsService;
 
@@ -53,7 +57,7 @@ public class CategoryController {
     }
 
     @GetMapping
-    public ResponseEntity<List<CategoryResponseDTO>> listCategories() {
+    public ResponseEntity<List<CategorySummaryDTO>> listCategories() {
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .body(categoryService.listCategories());
@@ -78,8 +82,34 @@ public class CategoryController {
                 .build();
     }
 
+    @GetMapping("/{idCategory}/transactions")
+    public ResponseEntity<TransactionPageResponseDTO> listCategoryTransactions(
+            @PathVariable Long idCategory,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(categoryTransactionsService.listCategoryTransactions(
+                        idCategory,
+                        cursor,
+                        limit));
+    }
+
+    @PostMapping("/{idCategory}/transactions")
+    public ResponseEntity<CategorySummaryDTO> addTransactionsToCategory(
+            @PathVariable Long idCategory,
+            @RequestBody @Valid CategoryAssignmentDTO assignmentDTO) {
+
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(categoryTransactionsService.addTransactionsToCategory(
+                        idCategory,
+                        assignmentDTO.getTransactionIds()));
+    }
+
     @PostMapping("/{idCategory}/transactions/{idTransaction}")
-    public ResponseEntity<CategoryResponseDTO> addTransactionToCategory(
+    public ResponseEntity<CategorySummaryDTO> addTransactionToCategory(
             @PathVariable Long idCategory,
             @PathVariable Long idTransaction) {
 
@@ -91,7 +121,7 @@ public class CategoryController {
     }
 
     @DeleteMapping("/{idCategory}/transactions/{idTransaction}")
-    public ResponseEntity<CategoryResponseDTO> removeTransactionFromCategory(
+    public ResponseEntity<CategorySummaryDTO> removeTransactionFromCategory(
             @PathVariable Long idCategory,
             @PathVariable Long idTransaction) {
 
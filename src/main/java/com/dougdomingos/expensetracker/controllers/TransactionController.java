@@ -1,10 +1,12 @@
 package com.dougdomingos.expensetracker.controllers;
 
-import java.util.List;
+import java.time.YearMonth;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -18,7 +20,10 @@ import org.springframework.web.bind.annotation.RestController;
 import com.dougdomingos.expensetracker.dto.transaction.BalanceResponseDTO;
 import com.dougdomingos.expensetracker.dto.transaction.CreateTransactionDTO;
 import com.dougdomingos.expensetracker.dto.transaction.EditTransactionDTO;
+import com.dougdomingos.expensetracker.dto.transaction.LedgerVerificationReportDTO;
+import com.dougdomingos.expensetracker.dto.transaction.TransactionPageResponseDTO;
 import com.dougdomingos.expensetracker.dto.transaction.TransactionResponseDTO;
+import com.dougdomingos.expensetracker.services.transaction.BalanceLedgerService;
 import com.dougdomingos.expensetracker.services.transaction.BalanceService;
 import com.dougdomingos.expensetracker.services.transaction.TransactionService;
 
@@ -36,6 +41,8 @@ public class TransactionController {
 
     private final BalanceService balanceService;
 
+    private final BalanceLedgerService balanceLedgerService;
+
     @PostMapping
     public ResponseEntity<TransactionResponseDTO> createTransaction(
             @RequestBody @Valid CreateTransactionDTO transactionDTO) {
@@ -55,19 +62,35 @@ public class TransactionController {
     }
 
     @GetMapping
-    public ResponseEntity<List<TransactionResponseDTO>> getTransactionsByType(
-            @RequestParam(required = false) String type) {
+    public ResponseEntity<TransactionPageResponseDTO> getTransactionsByType(
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
 
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(transactionService.listTransactions(type));
+                .body(transactionService.listTransactions(type, cursor, limit));
     }
 
     @GetMapping("/balance")
-    public ResponseEntity<BalanceResponseDTO> getCurrentBalance() {
+    public ResponseEntity<BalanceResponseDTO> getCurrentBalance(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(month == null
+                        ? balanceService.getCurrentBalance()
+                        : balanceService.getBalance(month));
+    }
+
+    @PostMapping("/balance/verify")
+    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    public ResponseEntity<LedgerVerificationReportDTO> verifyBalanceLedger(
+            @RequestParam(defaultValue = "false") boolean repair) {
+
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(balanceService.getCurrentBalance());
+                .body(balanceLedgerService.verifyLedger(repair));
     }
 
     @PutMapping("/{idTransaction}")
@@ -15,6 +15,7 @@ import org.springframework.web.bind.annotation.RestController;
 import com.dougdomingos.expensetracker.dto.user.CreateNewUserDTO;
 import com.dougdomingos.expensetracker.dto.user.LoginRequestDTO;
 import com.dougdomingos.expensetracker.dto.user.LoginResponseDTO;
+import com.dougdomingos.expensetracker.dto.user.RefreshTokenRequestDTO;
 import com.dougdomingos.expensetracker.dto.user.UserResponseDTO;
 import com.dougdomingos.expensetracker.services.user.UserService;
 
@@ -44,6 +45,21 @@ public class UserController {
                 .body(userService.login(loginDTO));
     }
 
+    @PostMapping("/token/refresh")
+    public ResponseEntity<LoginResponseDTO> refreshToken(@RequestBody @Valid RefreshTokenRequestDTO refreshDTO) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(userService.refreshToken(refreshDTO));
+    }
+
+    @PostMapping("/token/revoke")
+    public ResponseEntity<Void> revokeToken(@RequestBody @Valid RefreshTokenRequestDTO refreshDTO) {
+        userService.revokeToken(refreshDTO);
+        return ResponseEntity
+                .status(HttpStatus.NO_CONTENT)
+                .build();
+    }
+
     @GetMapping
     @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
     public ResponseEntity<List<UserResponseDTO>> listAllUsers() {
@@ -0,0 +1,33 @@
+package com.dougdomingos.expensetracker.dto.cache;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatisticsDTO {
+
+    @JsonProperty("name")
+    private String name;
+
+    @JsonProperty("size")
+    private long size;
+
+    @JsonProperty("hitCount")
+    private long hitCount;
+
+    @JsonProperty("missCount")
+    private long missCount;
+
+    @JsonProperty("hitRate")
+    private double hitRate;
+
+    @JsonProperty("evictionCount")
+    private long evictionCount;
+}
@@ -0,0 +1,25 @@
+package com.dougdomingos.expensetracker.dto.category;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryAssignmentDTO {
+
+    @JsonProperty("transactionIds")
+    @NotEmpty(message = "Transaction IDs are required")
+    @Size(max = 10000, message = "At most 10000 transactions can be assigned at once")
+    private List<@NotNull(message = "Transaction IDs must not be null") Long> transactionIds;
+}
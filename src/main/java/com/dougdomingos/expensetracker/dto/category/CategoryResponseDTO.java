@@ -1,8 +1,5 @@
 package com.dougdomingos.expensetracker.dto.category;
 
-import java.util.List;
-
-import com.dougdomingos.expensetracker.dto.transaction.TransactionResponseDTO;
 import com.dougdomingos.expensetracker.entities.transaction.TransactionType;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -34,6 +31,7 @@ public class CategoryResponseDTO {
     @NotNull
     private Double totalAmount;
 
-    @JsonProperty("transactions")
-    private List<TransactionResponseDTO> transactions;
+    @JsonProperty("transactionCount")
+    @NotNull
+    private Long transactionCount;
 }
@@ -0,0 +1,34 @@
+package com.dougdomingos.expensetracker.dto.category;
+
+import com.dougdomingos.expensetracker.entities.transaction.TransactionType;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategorySummaryDTO {
+
+    @JsonProperty("categoryId")
+    private Long categoryId;
+
+    @JsonProperty("name")
+    private String name;
+
+    @JsonProperty("categoryType")
+    @Enumerated(EnumType.STRING)
+    private TransactionType categoryType;
+
+    @JsonProperty("totalAmount")
+    private Double totalAmount;
+
+    @JsonProperty("transactionCount")
+    private Long transactionCount;
+}
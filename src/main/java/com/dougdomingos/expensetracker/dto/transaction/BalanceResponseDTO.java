@@ -22,4 +22,12 @@ public class BalanceResponseDTO {
     @JsonProperty("balance")
     @NotNull
     private Double balance;
+
+    @JsonProperty("income")
+    @NotNull
+    private Double income;
+
+    @JsonProperty("expense")
+    @NotNull
+    private Double expense;
 }
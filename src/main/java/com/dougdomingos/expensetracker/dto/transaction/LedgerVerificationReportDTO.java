@@ -0,0 +1,33 @@
+package com.dougdomingos.expensetracker.dto.transaction;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerVerificationReportDTO {
+
+    @JsonProperty("repair")
+    private boolean repair;
+
+    @JsonProperty("usersScanned")
+    private long usersScanned;
+
+    @JsonProperty("balancesChecked")
+    private long balancesChecked;
+
+    @JsonProperty("missingBalances")
+    private long missingBalances;
+
+    @JsonProperty("driftedBalances")
+    private long driftedBalances;
+
+    @JsonProperty("failedChunks")
+    private long failedChunks;
+}
@@ -0,0 +1,28 @@
+package com.dougdomingos.expensetracker.dto.transaction;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionPageResponseDTO {
+
+    @JsonProperty("transactions")
+    @NotNull
+    private List<TransactionResponseDTO> transactions;
+
+    /**
+     * Opaque cursor for the next page, or {@code null} if this is the last one.
+     */
+    @JsonProperty("next")
+    private String next;
+}
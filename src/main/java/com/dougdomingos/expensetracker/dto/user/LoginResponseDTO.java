@@ -22,4 +22,12 @@ public class LoginResponseDTO {
     @JsonProperty("expiresIn")
     @NotNull
     private Long expiresIn;
-}
\ No newline at end of file
+
+    @JsonProperty("refreshToken")
+    @NotBlank
+    private String refreshToken;
+
+    @JsonProperty("refreshExpiresIn")
+    @NotNull
+    private Long refreshExpiresIn;
+}
@@ -0,0 +1,20 @@
+package com.dougdomingos.expensetracker.dto.user;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshTokenRequestDTO {
+
+    @JsonProperty("refreshToken")
+    @NotBlank(message = "Refresh token is required")
+    private String refreshToken;
+}
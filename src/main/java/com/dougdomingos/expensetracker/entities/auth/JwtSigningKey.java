@@ -0,0 +1,34 @@
+package com.dougdomingos.expensetracker.entities.auth;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Key pair signing the access tokens, stored as a JWK (private part included)
+ * so that every node signs and verifies with the same keys.
+ */
+@Data
+@Entity
+@Builder
+@Table(name = "jwt_signing_key")
+@NoArgsConstructor
+@AllArgsConstructor
+public class JwtSigningKey {
+
+    @Id
+    private String keyId;
+
+    @Column(nullable = false, length = 8192)
+    private String jwk;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
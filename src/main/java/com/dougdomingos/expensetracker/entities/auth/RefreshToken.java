@@ -0,0 +1,49 @@
+package com.dougdomingos.expensetracker.entities.auth;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Single-use token trading itself for a new access token. Only its hash is
+ * stored, as the primary key. Every token rotated out of the same login
+ * belongs to one family, which is revoked as a whole when any of its used
+ * tokens shows up again.
+ */
+@Data
+@Entity
+@Builder
+@Table(name = "refresh_token", indexes = {
+        @Index(name = "idx_refresh_token_family", columnList = "family_id"),
+        @Index(name = "idx_refresh_token_expires", columnList = "expires_at")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshToken {
+
+    @Id
+    @Column(length = 43)
+    private String tokenHash;
+
+    @Column(nullable = false)
+    private UUID userId;
+
+    @Column(name = "family_id", nullable = false)
+    private UUID familyId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    private LocalDateTime usedAt;
+
+    private LocalDateTime revokedAt;
+}
@@ -0,0 +1,41 @@
+package com.dougdomingos.expensetracker.entities.balance;
+
+import com.dougdomingos.expensetracker.repositories.projections.BalanceSummary;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Materialized income and expense totals of a user in a given month. The row
+ * is kept up to date incrementally by every transaction write, so reading a
+ * balance is a primary-key lookup instead of an aggregate over transactions.
+ */
+@Data
+@Entity
+@Builder
+@Table(name = "monthly_balance")
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyBalance implements BalanceSummary {
+
+    @EmbeddedId
+    private MonthlyBalanceId id;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Double income = 0.0;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Double expense = 0.0;
+
+    public Double getBalance() {
+        return income + expense;
+    }
+}
@@ -0,0 +1,32 @@
+package com.dougdomingos.expensetracker.entities.balance;
+
+import java.io.Serializable;
+import java.time.YearMonth;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Primary key of a {@link MonthlyBalance}: the owner of the transactions and
+ * the month they were created in, formatted as {@code yyyy-MM}.
+ */
+@Data
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyBalanceId implements Serializable {
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "year_month", nullable = false, length = 7)
+    private String yearMonth;
+
+    public static MonthlyBalanceId of(UUID userId, YearMonth month) {
+        return new MonthlyBalanceId(userId, month.toString());
+    }
+}
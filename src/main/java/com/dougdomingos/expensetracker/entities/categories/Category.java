@@ -22,7 +22,9 @@ import jakarta.persistence.OneToMany;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Data
 @Entity
@@ -46,18 +48,30 @@ public class Category {
     @Column(nullable = false)
     private Double totalAmount = 0.0;
 
+    /**
+     * Number of transactions in this category, adjusted together with the total
+     * amount. {@code null} for categories created before it was kept, until
+     * {@link com.dougdomingos.expensetracker.config.DataInitializer} counts them.
+     */
+    @Builder.Default
+    private Long transactionCount = 0L;
+
     @Builder.Default
-    @OneToMany(cascade = CascadeType.PERSIST, fetch = FetchType.EAGER)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @OneToMany(cascade = CascadeType.PERSIST, fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", referencedColumnName = "categoryId")
     private Set<Transaction> transactions = new HashSet<>();
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User owner;
 
     /**
      * Add the specified transaction to this category, while incrementing its total
-     * value. If the operation fails, the category value is not updated.
+     * value and transaction count. If the operation fails, the category value is not updated.
      * 
      * @param transaction The transaction to be inserted into this category.
      * @return A boolean value; true if the operation succeeds, false otherwise
@@ -66,6 +80,7 @@ public class Category {
         boolean wasTransactionAdded = transactions.add(transaction);
         if (wasTransactionAdded) {
             totalAmount += transaction.getAmount();
+            transactionCount++;
         }
 
         return wasTransactionAdded;
@@ -73,7 +88,7 @@ public class Category {
 
     /**
      * Remove the specified transaction from this category, while decrementing its
-     * total value. If the operation fails, the category value is not updated.
+     * total value and transaction count. If the operation fails, the category value is not updated.
      * 
      * @param transaction The transaction to be removed from this category.
      * @return A boolean value; true if the operation succeeds, false otherwise
@@ -82,6 +97,7 @@ public class Category {
         boolean wasTransactionRemoved = transactions.remove(transaction);
         if (wasTransactionRemoved) {
             totalAmount -= transaction.getAmount();
+            transactionCount--;
         }
 
         return wasTransactionRemoved;
@@ -0,0 +1,61 @@
+package com.dougdomingos.expensetracker.entities.job;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of the latest run of a chunked batch job. Each chunk commits its
+ * checkpoint together with its own writes, so an interrupted run can be
+ * resumed right after the last committed chunk, even after the month it was
+ * started for is over.
+ */
+@Data
+@Entity
+@Builder
+@Table(name = "job_checkpoint")
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobCheckpoint {
+
+    @Id
+    private String jobName;
+
+    /**
+     * Month the run processes, formatted as {@code yyyy-MM}. Runs of monthly
+     * jobs are keyed by it, so a month is only processed once; {@code null} for
+     * jobs that are not monthly.
+     */
+    @Column(length = 7)
+    private String targetMonth;
+
+    /**
+     * Highest ID the run will process; rows created by the run itself are
+     * always above it.
+     */
+    @Column(nullable = false)
+    private Long upperBoundId;
+
+    @Column(nullable = false)
+    private Long lastProcessedId;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Long processedRows = 0L;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private boolean completed = false;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,38 @@
+package com.dougdomingos.expensetracker.entities.job;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Lease on a scheduled job, shared by every node of the cluster. Only the node
+ * holding an unexpired lease runs the job; once the lease expires, any node
+ * can take it over.
+ */
+@Data
+@Entity
+@Builder
+@Table(name = "job_lease")
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobLease {
+
+    @Id
+    private String jobName;
+
+    @Column(nullable = false)
+    private LocalDateTime lockedUntil;
+
+    @Column(nullable = false)
+    private LocalDateTime lockedAt;
+
+    @Column(nullable = false)
+    private String lockedBy;
+}
@@ -12,8 +12,10 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -22,6 +24,10 @@ import lombok.NoArgsConstructor;
 @Data
 @Entity
 @Builder
+@Table(indexes = {
+        @Index(name = "idx_transaction_owner_created", columnList = "user_id, created_at, transaction_id"),
+        @Index(name = "idx_transaction_category_created", columnList = "category_id, created_at, transaction_id")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 public class Transaction {
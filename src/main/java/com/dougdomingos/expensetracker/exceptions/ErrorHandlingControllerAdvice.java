@@ -2,6 +2,7 @@ package com.dougdomingos.expensetracker.exceptions;
 
 import java.util.ArrayList;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -10,6 +11,9 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+import com.dougdomingos.expensetracker.exceptions.user.PasswordHashingUnavailableException;
+
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 
@@ -51,6 +55,17 @@ public class ErrorHandlingControllerAdvice {
         return buildApplicationError(e.getMessage());
     }
 
+    @ResponseBody
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ApplicationErrorType onPasswordHashingUnavailable(
+            PasswordHashingUnavailableException e,
+            HttpServletResponse response) {
+
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        return buildApplicationError(e.getMessage());
+    }
+
     /**
      * Returns a custom application error.
      * 
@@ -0,0 +1,9 @@
+package com.dougdomingos.expensetracker.exceptions.job;
+
+import com.dougdomingos.expensetracker.exceptions.ExpenseTrackerException;
+
+public class JobLeaseLostException extends ExpenseTrackerException {
+    public JobLeaseLostException(String jobName) {
+        super("The lease of job " + jobName + " was taken over by another node");
+    }
+}
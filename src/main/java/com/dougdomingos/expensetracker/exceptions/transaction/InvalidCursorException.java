@@ -0,0 +1,9 @@
+package com.dougdomingos.expensetracker.exceptions.transaction;
+
+import com.dougdomingos.expensetracker.exceptions.ExpenseTrackerException;
+
+public class InvalidCursorException extends ExpenseTrackerException {
+    public InvalidCursorException() {
+        super("Specified pagination cursor is invalid");
+    }
+}
@@ -0,0 +1,9 @@
+package com.dougdomingos.expensetracker.exceptions.user;
+
+import com.dougdomingos.expensetracker.exceptions.ExpenseTrackerException;
+
+public class PasswordHashingUnavailableException extends ExpenseTrackerException {
+    public PasswordHashingUnavailableException() {
+        super("Too many authentication requests, try again later");
+    }
+}
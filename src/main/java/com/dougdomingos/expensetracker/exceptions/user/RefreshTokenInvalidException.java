@@ -0,0 +1,9 @@
+package com.dougdomingos.expensetracker.exceptions.user;
+
+import com.dougdomingos.expensetracker.exceptions.ExpenseTrackerException;
+
+public class RefreshTokenInvalidException extends ExpenseTrackerException {
+    public RefreshTokenInvalidException() {
+        super("Provided refresh token is invalid");
+    }
+}
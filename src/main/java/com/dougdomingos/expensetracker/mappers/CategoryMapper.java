@@ -0,0 +1,54 @@
+package com.dougdomingos.expensetracker.mappers;
+
+import com.dougdomingos.expensetracker.dto.category.CategoryResponseDTO;
+import com.dougdomingos.expensetracker.dto.category.CreateCategoryDTO;
+import com.dougdomingos.expensetracker.dto.category.EditCategoryDTO;
+import com.dougdomingos.expensetracker.entities.categories.Category;
+
+/**
+ * Conversions between categories and their DTOs.
+ */
+public final class CategoryMapper {
+
+    private CategoryMapper() {
+    }
+
+    /**
+     * Builds a new, ownerless category from its creation request.
+     * 
+     * @param categoryDTO The creation request
+     * @return The category, not yet persisted
+     */
+    public static Category toEntity(CreateCategoryDTO categoryDTO) {
+        return Category.builder()
+                .name(categoryDTO.getName())
+                .categoryType(categoryDTO.getCategoryType())
+                .build();
+    }
+
+    /**
+     * Copies the editable fields of a request into an existing category.
+     * 
+     * @param categoryDTO The edit request
+     * @param category    The category being edited
+     */
+    public static void updateEntity(EditCategoryDTO categoryDTO, Category category) {
+        category.setName(categoryDTO.getName());
+    }
+
+    /**
+     * Converts a category into its response DTO. Its transactions are counted
+     * but not listed, as they are paged through their own endpoint.
+     * 
+     * @param category The category
+     * @return The response DTO
+     */
+    public static CategoryResponseDTO toResponse(Category category) {
+        return CategoryResponseDTO.builder()
+                .name(category.getName())
+                .categoryType(category.getCategoryType())
+                .totalAmount(category.getTotalAmount())
+                .transactionCount(category.getTransactionCount())
+                .build();
+    }
+}
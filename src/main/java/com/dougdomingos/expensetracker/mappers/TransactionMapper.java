@@ -0,0 +1,78 @@
+package com.dougdomingos.expensetracker.mappers;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.dougdomingos.expensetracker.dto.transaction.CreateTransactionDTO;
+import com.dougdomingos.expensetracker.dto.transaction.EditTransactionDTO;
+import com.dougdomingos.expensetracker.dto.transaction.TransactionResponseDTO;
+import com.dougdomingos.expensetracker.entities.transaction.Transaction;
+
+/**
+ * Conversions between transactions and their DTOs, written out field by field
+ * so they cost no more than the getter and setter calls themselves.
+ */
+public final class TransactionMapper {
+
+    private TransactionMapper() {
+    }
+
+    /**
+     * Builds a new, ownerless transaction from its creation request.
+     * 
+     * @param transactionDTO The creation request
+     * @return The transaction, not yet persisted
+     */
+    public static Transaction toEntity(CreateTransactionDTO transactionDTO) {
+        return Transaction.builder()
+                .transactionType(transactionDTO.getTransactionType())
+                .isRecurrent(transactionDTO.isRecurrent())
+                .title(transactionDTO.getTitle())
+                .description(transactionDTO.getDescription())
+                .amount(transactionDTO.getAmount())
+                .build();
+    }
+
+    /**
+     * Copies the editable fields of a request into an existing transaction.
+     * 
+     * @param transactionDTO The edit request
+     * @param transaction    The transaction being edited
+     */
+    public static void updateEntity(EditTransactionDTO transactionDTO, Transaction transaction) {
+        transaction.setRecurrent(transactionDTO.isRecurrent());
+        transaction.setTitle(transactionDTO.getTitle());
+        transaction.setDescription(transactionDTO.getDescription());
+        transaction.setAmount(transactionDTO.getAmount());
+    }
+
+    /**
+     * Converts a transaction into its response DTO.
+     * 
+     * @param transaction The transaction
+     * @return The response DTO
+     */
+    public static TransactionResponseDTO toResponse(Transaction transaction) {
+        return TransactionResponseDTO.builder()
+                .id(transaction.getTransactionId())
+                .transactionType(transaction.getTransactionType())
+                .title(transaction.getTitle())
+                .description(transaction.getDescription())
+                .amount(transaction.getAmount())
+                .createdAt(transaction.getCreatedAt())
+                .build();
+    }
+
+    /**
+     * Converts transactions into their response DTOs, keeping their order.
+     * 
+     * @param transactions The transactions
+     * @return The response DTOs
+     */
+    public static List<TransactionResponseDTO> toResponses(Collection<Transaction> transactions) {
+        return transactions.stream()
+                .map(TransactionMapper::toResponse)
+                .collect(Collectors.toList());
+    }
+}
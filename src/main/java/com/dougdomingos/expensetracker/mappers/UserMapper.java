@@ -0,0 +1,25 @@
+package com.dougdomingos.expensetracker.mappers;
+
+import com.dougdomingos.expensetracker.dto.user.UserResponseDTO;
+import com.dougdomingos.expensetracker.entities.user.User;
+
+/**
+ * Conversions between users and their DTOs.
+ */
+public final class UserMapper {
+
+    private UserMapper() {
+    }
+
+    /**
+     * Converts a user into its response DTO, which never exposes credentials.
+     * 
+     * @param user The user
+     * @return The response DTO
+     */
+    public static UserResponseDTO toResponse(User user) {
+        return UserResponseDTO.builder()
+                .username(user.getUsername())
+                .build();
+    }
+}
@@ -0,0 +1,77 @@
+package com.dougdomingos.expensetracker.monitoring;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Counts the SQL statements run while serving each request, including those
+ * run by lazy loads during serialization. Requests above the threshold are
+ * logged, which is how N+1 regressions show up. When enabled, the count and the
+ * DB time are also sent back in response headers.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+
+    public static final String QUERY_TIME_HEADER = "X-Query-Time-Ms";
+
+    private final boolean headersEnabled;
+
+    private final long warnThreshold;
+
+    public QueryCountFilter(
+            @Value("${expensetracker.sql.headers-enabled:false}") boolean headersEnabled,
+            @Value("${expensetracker.sql.warn-threshold:20}") long warnThreshold) {
+
+        this.headersEnabled = headersEnabled;
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        QueryStatistics statistics = QueryStatistics.start();
+
+        // Headers must be set before the body is committed, so the body is
+        // buffered while they are enabled
+        ContentCachingResponseWrapper bufferedResponse = headersEnabled
+                ? new ContentCachingResponseWrapper(response)
+                : null;
+
+        try {
+            filterChain.doFilter(request, bufferedResponse != null ? bufferedResponse : response);
+        } finally {
+            QueryStatistics.clear();
+
+            if (statistics.getQueryCount() > warnThreshold) {
+                log.warn("{} {} ran {} SQL statements in {} ms (threshold: {})",
+                        request.getMethod(), request.getRequestURI(),
+                        statistics.getQueryCount(), statistics.getElapsedMillis(), warnThreshold);
+            }
+
+            if (bufferedResponse != null) {
+                bufferedResponse.setHeader(QUERY_COUNT_HEADER, String.valueOf(statistics.getQueryCount()));
+                bufferedResponse.setHeader(QUERY_TIME_HEADER, String.valueOf(statistics.getElapsedMillis()));
+                bufferedResponse.copyBodyToResponse();
+            }
+        }
+    }
+}
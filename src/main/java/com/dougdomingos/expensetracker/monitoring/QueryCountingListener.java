@@ -0,0 +1,24 @@
+package com.dougdomingos.expensetracker.monitoring;
+
+import java.util.List;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/**
+ * Feeds every statement executed through the proxied data source into the
+ * statistics of the current request. A JDBC batch counts as one statement,
+ * since it is a single round trip.
+ */
+public class QueryCountingListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        QueryStatistics.record(execInfo.isBatch() ? 1 : queryInfoList.size(), execInfo.getElapsedTime());
+    }
+}
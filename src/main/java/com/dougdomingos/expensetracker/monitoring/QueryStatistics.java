@@ -0,0 +1,50 @@
+package com.dougdomingos.expensetracker.monitoring;
+
+import lombok.Getter;
+
+/**
+ * SQL statements executed by the current thread while serving a request. The
+ * statistics of a request live in a thread local, started and cleared by
+ * {@link QueryCountFilter}; statements run outside a request are not counted.
+ */
+@Getter
+public class QueryStatistics {
+
+    private static final ThreadLocal<QueryStatistics> CURRENT = new ThreadLocal<>();
+
+    private long queryCount;
+
+    private long elapsedMillis;
+
+    /**
+     * Starts counting the statements of the current thread.
+     * 
+     * @return The statistics of the current request
+     */
+    public static QueryStatistics start() {
+        QueryStatistics statistics = new QueryStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * Stops counting the statements of the current thread.
+     */
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Records an executed statement in the current request, if any.
+     * 
+     * @param statements    The number of statements executed
+     * @param elapsedMillis The time spent in the database
+     */
+    public static void record(int statements, long elapsedMillis) {
+        QueryStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.queryCount += statements;
+            statistics.elapsedMillis += elapsedMillis;
+        }
+    }
+}
@@ -1,9 +1,16 @@
 package com.dougdomingos.expensetracker.repositories;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.dougdomingos.expensetracker.dto.category.CategorySummaryDTO;
 import com.dougdomingos.expensetracker.entities.categories.Category;
 import com.dougdomingos.expensetracker.entities.user.User;
 
@@ -16,4 +23,163 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
      * @return A list of categories
      */
     List<Category> findByOwner(User owner);
+
+    /**
+     * Fetch a category only if it belongs to the given user, in a single query
+     * that never loads the user.
+     * 
+     * @param categoryId The ID of the category
+     * @param ownerId    The ID of the user that owns the category
+     * @return The category, or an empty optional if it does not exist or
+     *         belongs to another user
+     */
+    Optional<Category> findByCategoryIdAndOwnerUserId(Long categoryId, UUID ownerId);
+
+    /**
+     * Fetch a summary of all categories of a specific user, with the
+     * transaction counts kept by the categories instead of loading or counting
+     * their transactions.
+     * 
+     * @param ownerId The ID of the user that owns the categories
+     * @return A list of category summaries, in creation order
+     */
+    @Query("""
+            SELECT new com.dougdomingos.expensetracker.dto.category.CategorySummaryDTO(
+                c.categoryId, c.name, c.categoryType, c.totalAmount, c.transactionCount)
+            FROM Category c
+            WHERE c.owner.userId = :ownerId
+            ORDER BY c.categoryId
+            """)
+    List<CategorySummaryDTO> summarizeByOwnerId(@Param("ownerId") UUID ownerId);
+
+    /**
+     * Fetch the summary of a single category.
+     * 
+     * @param categoryId The ID of the category
+     * @return The category summary
+     */
+    @Query("""
+            SELECT new com.dougdomingos.expensetracker.dto.category.CategorySummaryDTO(
+                c.categoryId, c.name, c.categoryType, c.totalAmount, c.transactionCount)
+            FROM Category c
+            WHERE c.categoryId = :categoryId
+            """)
+    CategorySummaryDTO summarizeById(@Param("categoryId") Long categoryId);
+
+    /**
+     * Atomically add the given amount and number of transactions to the totals
+     * of a category.
+     * 
+     * @param categoryId The ID of the category
+     * @param amount     The amount to be added; negative to subtract
+     * @param count      The number of transactions to be added; negative to
+     *                   subtract
+     * @return The number of updated rows
+     */
+    @Modifying
+    @Query("""
+            UPDATE Category c
+            SET c.totalAmount = c.totalAmount + :amount, c.transactionCount = c.transactionCount + :count
+            WHERE c.categoryId = :categoryId
+            """)
+    int addToTotals(
+            @Param("categoryId") Long categoryId,
+            @Param("amount") Double amount,
+            @Param("count") long count);
+
+    /**
+     * Atomically subtract a transaction from the totals of the category it
+     * currently belongs to, unless that is the given category.
+     * 
+     * @param transactionId The ID of the transaction leaving its category
+     * @param categoryId    The ID of the category the transaction is moving to
+     * @return The number of updated rows; zero if the transaction had no other
+     *         category
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            UPDATE category c
+            SET total_amount = c.total_amount - (SELECT t.amount FROM transaction t WHERE t.transaction_id = :transactionId),
+                transaction_count = c.transaction_count - 1
+            WHERE c.category_id = (SELECT t.category_id FROM transaction t WHERE t.transaction_id = :transactionId)
+              AND c.category_id <> :categoryId
+            """)
+    int subtractFromPreviousCategory(
+            @Param("transactionId") Long transactionId,
+            @Param("categoryId") Long categoryId);
+
+    /**
+     * Atomically subtract a set of transactions from the totals of the
+     * categories they currently belong to, except for the given category.
+     * 
+     * @param transactionIds The IDs of the transactions leaving their categories
+     * @param categoryId     The ID of the category the transactions are moving to
+     * @return The number of updated categories
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            UPDATE category c
+            SET total_amount = c.total_amount - (
+                    SELECT COALESCE(SUM(t.amount), 0) FROM transaction t
+                    WHERE t.category_id = c.category_id AND t.transaction_id IN (:transactionIds)),
+                transaction_count = c.transaction_count - (
+                    SELECT COUNT(*) FROM transaction t
+                    WHERE t.category_id = c.category_id AND t.transaction_id IN (:transactionIds))
+            WHERE c.category_id IN (
+                SELECT t.category_id FROM transaction t
+                WHERE t.transaction_id IN (:transactionIds) AND t.category_id <> :categoryId)
+            """)
+    int subtractFromPreviousCategories(
+            @Param("transactionIds") Collection<Long> transactionIds,
+            @Param("categoryId") Long categoryId);
+
+    /**
+     * Atomically subtract a transaction from the totals of the category it
+     * belongs to, before it is deleted.
+     * 
+     * @param transactionId The ID of the transaction being deleted
+     * @return The number of updated rows; zero if the transaction had no
+     *         category
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            UPDATE category c
+            SET total_amount = c.total_amount - (SELECT t.amount FROM transaction t WHERE t.transaction_id = :transactionId),
+                transaction_count = c.transaction_count - 1
+            WHERE c.category_id = (SELECT t.category_id FROM transaction t WHERE t.transaction_id = :transactionId)
+            """)
+    int subtractFromCategory(@Param("transactionId") Long transactionId);
+
+    /**
+     * Atomically add the change of a transaction amount to the total of the
+     * category it belongs to.
+     * 
+     * @param transactionId The ID of the edited transaction
+     * @param amount        The change of its amount
+     * @return The number of updated rows; zero if the transaction has no
+     *         category
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            UPDATE category c
+            SET total_amount = c.total_amount + :amount
+            WHERE c.category_id = (SELECT t.category_id FROM transaction t WHERE t.transaction_id = :transactionId)
+            """)
+    int addToCategoryOf(
+            @Param("transactionId") Long transactionId,
+            @Param("amount") Double amount);
+
+    /**
+     * Count the transactions of the categories created before their count was
+     * kept along with the total amount.
+     * 
+     * @return The number of updated categories
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            UPDATE category c
+            SET transaction_count = (SELECT COUNT(*) FROM transaction t WHERE t.category_id = c.category_id)
+            WHERE c.transaction_count IS NULL
+            """)
+    int countMissingTransactionCounts();
 }
@@ -0,0 +1,8 @@
+package com.dougdomingos.expensetracker.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.dougdomingos.expensetracker.entities.job.JobCheckpoint;
+
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+}
@@ -0,0 +1,90 @@
+package com.dougdomingos.expensetracker.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.dougdomingos.expensetracker.entities.job.JobLease;
+
+/**
+ * Leases are timed by the database clock, never by the clock of the node
+ * taking them, so clock skew between nodes cannot shorten or extend a lease.
+ */
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    /**
+     * Atomically take over the lease of a job, if it has expired.
+     * 
+     * @param jobName      The name of the job
+     * @param lockedBy     The node taking the lease
+     * @param leaseSeconds How long the new lease lasts, in seconds
+     * @return The number of updated rows; zero if the lease is held by another
+     *         node or does not exist yet
+     */
+    @Modifying
+    @Query("""
+            UPDATE JobLease l
+            SET l.lockedBy = :lockedBy, l.lockedAt = LOCAL DATETIME,
+                l.lockedUntil = LOCAL DATETIME + :leaseSeconds SECOND
+            WHERE l.jobName = :jobName AND l.lockedUntil <= LOCAL DATETIME
+            """)
+    int acquireExpired(
+            @Param("jobName") String jobName,
+            @Param("lockedBy") String lockedBy,
+            @Param("leaseSeconds") long leaseSeconds);
+
+    /**
+     * Create the lease of a job for the first time, already expired so it can
+     * be taken with {@link #acquireExpired}. Does nothing if it exists.
+     * 
+     * @param jobName The name of the job
+     * @return The number of inserted rows
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO job_lease (job_name, locked_by, locked_at, locked_until)
+            VALUES (:jobName, '', LOCALTIMESTAMP, LOCALTIMESTAMP)
+            ON CONFLICT DO NOTHING
+            """)
+    int createExpired(@Param("jobName") String jobName);
+
+    /**
+     * Extend the lease of a job held by the given node, counting from now.
+     * 
+     * @param jobName      The name of the job
+     * @param lockedBy     The node holding the lease
+     * @param leaseSeconds How long the lease lasts from now on, in seconds
+     * @return The number of updated rows; zero if the node lost the lease
+     */
+    @Modifying
+    @Query("""
+            UPDATE JobLease l SET l.lockedUntil = LOCAL DATETIME + :leaseSeconds SECOND
+            WHERE l.jobName = :jobName AND l.lockedBy = :lockedBy
+            """)
+    int renew(
+            @Param("jobName") String jobName,
+            @Param("lockedBy") String lockedBy,
+            @Param("leaseSeconds") long leaseSeconds);
+
+    /**
+     * Shorten the lease of a job held by the given node, so other nodes can
+     * take it from now on, but not before the minimum duration since it was
+     * taken.
+     * 
+     * @param jobName         The name of the job
+     * @param lockedBy        The node holding the lease
+     * @param minLeaseSeconds How long the lease lasts at least, in seconds
+     * @return The number of updated rows; zero if the node lost the lease
+     */
+    @Modifying
+    @Query("""
+            UPDATE JobLease l
+            SET l.lockedUntil = GREATEST(l.lockedAt + :minLeaseSeconds SECOND, LOCAL DATETIME)
+            WHERE l.jobName = :jobName AND l.lockedBy = :lockedBy
+            """)
+    int release(
+            @Param("jobName") String jobName,
+            @Param("lockedBy") String lockedBy,
+            @Param("minLeaseSeconds") long minLeaseSeconds);
+}
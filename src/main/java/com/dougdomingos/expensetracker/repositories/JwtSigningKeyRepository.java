@@ -0,0 +1,8 @@
+package com.dougdomingos.expensetracker.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.dougdomingos.expensetracker.entities.auth.JwtSigningKey;
+
+public interface JwtSigningKeyRepository extends JpaRepository<JwtSigningKey, String> {
+}
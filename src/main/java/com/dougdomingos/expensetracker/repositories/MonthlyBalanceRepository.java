@@ -0,0 +1,80 @@
+package com.dougdomingos.expensetracker.repositories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.dougdomingos.expensetracker.entities.balance.MonthlyBalance;
+import com.dougdomingos.expensetracker.entities.balance.MonthlyBalanceId;
+
+import jakarta.persistence.LockModeType;
+
+public interface MonthlyBalanceRepository extends JpaRepository<MonthlyBalance, MonthlyBalanceId> {
+
+    /**
+     * Atomically add the given amounts to the totals of a monthly balance.
+     * 
+     * @param id      The key of the monthly balance
+     * @param income  The amount to be added to the income total
+     * @param expense The amount to be added to the expense total
+     * @return The number of updated rows; zero if the balance does not exist yet
+     */
+    @Modifying
+    @Query("""
+            UPDATE MonthlyBalance b
+            SET b.income = b.income + :income, b.expense = b.expense + :expense
+            WHERE b.id = :id
+            """)
+    int addToTotals(
+            @Param("id") MonthlyBalanceId id,
+            @Param("income") Double income,
+            @Param("expense") Double expense);
+
+    /**
+     * Insert a monthly balance unless its row already exists, without failing
+     * when a concurrent transaction inserts the same row first.
+     * 
+     * @param userId    The owner of the transactions
+     * @param yearMonth The month of the balance, formatted as {@code yyyy-MM}
+     * @param income    The income total
+     * @param expense   The expense total
+     * @return The number of inserted rows; zero if the balance already existed
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO monthly_balance (user_id, year_month, income, expense)
+            VALUES (:userId, :yearMonth, :income, :expense)
+            ON CONFLICT DO NOTHING
+            """)
+    int insertIfAbsent(
+            @Param("userId") UUID userId,
+            @Param("yearMonth") String yearMonth,
+            @Param("income") Double income,
+            @Param("expense") Double expense);
+
+    /**
+     * Fetch all monthly balances of the given users.
+     * 
+     * @param userIds The owners of the monthly balances
+     * @return A list of monthly balances
+     */
+    @Query("SELECT b FROM MonthlyBalance b WHERE b.id.userId IN :userIds")
+    List<MonthlyBalance> findByUserIds(@Param("userIds") Collection<UUID> userIds);
+
+    /**
+     * Fetch and lock all monthly balances of the given users, so that no
+     * transaction write can change them until the current DB transaction ends.
+     * 
+     * @param userIds The owners of the monthly balances
+     * @return A list of monthly balances
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM MonthlyBalance b WHERE b.id.userId IN :userIds")
+    List<MonthlyBalance> findAndLockByUserIds(@Param("userIds") Collection<UUID> userIds);
+}
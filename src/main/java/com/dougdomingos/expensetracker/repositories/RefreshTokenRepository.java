@@ -0,0 +1,61 @@
+package com.dougdomingos.expensetracker.repositories;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.dougdomingos.expensetracker.entities.auth.RefreshToken;
+
+import jakarta.transaction.Transactional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    /**
+     * Atomically mark a refresh token as used, if it is still usable.
+     * 
+     * @param tokenHash The hash of the refresh token
+     * @param now       The current time
+     * @return The number of updated rows; zero if the token is unknown, expired,
+     *         revoked or already used
+     */
+    @Modifying
+    @Query("""
+            UPDATE RefreshToken t
+            SET t.usedAt = :now
+            WHERE t.tokenHash = :tokenHash
+                AND t.usedAt IS NULL
+                AND t.revokedAt IS NULL
+                AND t.expiresAt > :now
+            """)
+    int markUsed(@Param("tokenHash") String tokenHash, @Param("now") LocalDateTime now);
+
+    /**
+     * Revoke every refresh token of a family.
+     * 
+     * @param familyId The family of the tokens
+     * @param now      The current time
+     * @return The number of revoked tokens
+     */
+    @Modifying
+    @Query("""
+            UPDATE RefreshToken t
+            SET t.revokedAt = :now
+            WHERE t.familyId = :familyId AND t.revokedAt IS NULL
+            """)
+    int revokeFamily(@Param("familyId") UUID familyId, @Param("now") LocalDateTime now);
+
+    /**
+     * Delete the refresh tokens expired before the given time.
+     * 
+     * @param now The current time
+     * @return The number of deleted tokens
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
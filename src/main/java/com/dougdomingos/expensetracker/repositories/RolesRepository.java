@@ -1,12 +1,47 @@
 package com.dougdomingos.expensetracker.repositories;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import com.dougdomingos.expensetracker.config.CacheNames;
 import com.dougdomingos.expensetracker.entities.user.Role;
 import com.dougdomingos.expensetracker.entities.user.Role.TypeRole;
 
+/**
+ * Lookups by role name are cached, keyed by the name of the role. Cached
+ * roles are detached, so they must be turned into a reference before being
+ * assigned to a new user.
+ */
 public interface RolesRepository extends JpaRepository<Role, Long> {
+
+    @Cacheable(cacheNames = CacheNames.ROLES_BY_NAME, key = "#p0.name()")
     Optional<Role> findByRoleName(TypeRole roleName);
+
+    @Override
+    @CacheEvict(cacheNames = CacheNames.ROLES_BY_NAME, key = "#result.roleName.name()")
+    <S extends Role> S save(S role);
+
+    @Override
+    @CacheEvict(cacheNames = CacheNames.ROLES_BY_NAME, allEntries = true)
+    <S extends Role> List<S> saveAll(Iterable<S> roles);
+
+    @Override
+    @CacheEvict(cacheNames = CacheNames.ROLES_BY_NAME, allEntries = true)
+    void delete(Role role);
+
+    @Override
+    @CacheEvict(cacheNames = CacheNames.ROLES_BY_NAME, allEntries = true)
+    void deleteById(Long roleId);
+
+    @Override
+    @CacheEvict(cacheNames = CacheNames.ROLES_BY_NAME, allEntries = true)
+    void deleteAll(Iterable<? extends Role> roles);
+
+    @Override
+    @CacheEvict(cacheNames = CacheNames.ROLES_BY_NAME, allEntries = true)
+    void deleteAll();
 }
@@ -1,13 +1,23 @@
 package com.dougdomingos.expensetracker.repositories;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.dougdomingos.expensetracker.entities.transaction.Transaction;
 import com.dougdomingos.expensetracker.entities.transaction.TransactionType;
 import com.dougdomingos.expensetracker.entities.user.User;
+import com.dougdomingos.expensetracker.repositories.projections.BalanceSummary;
+import com.dougdomingos.expensetracker.repositories.projections.MonthlyTotals;
+import com.dougdomingos.expensetracker.repositories.projections.TransactionGroupCount;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
@@ -20,22 +30,144 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     List<Transaction> findByOwner(User owner);
 
     /**
-     * Fetch transactions of a specific user, filtered by type.
+     * Fetch a transaction only if it belongs to the given user, in a single
+     * query that never loads the user.
      * 
-     * @param owner The user that owns the transactions
-     * @param type  The targeted transaction type
-     * @return A list of transactions that match the given type
+     * @param transactionId The ID of the transaction
+     * @param ownerId       The ID of the user that owns the transaction
+     * @return The transaction, or an empty optional if it does not exist or
+     *         belongs to another user
+     */
+    Optional<Transaction> findByTransactionIdAndOwnerUserId(Long transactionId, UUID ownerId);
+
+    /**
+     * Fetch the first page of transactions of a specific user, newest first.
+     * 
+     * @param ownerId  The ID of the user that owns the transactions
+     * @param type     The targeted transaction type, or {@code null} for all types
+     * @param pageable The page size (the page number is ignored)
+     * @return A list of at most {@code pageable.getPageSize()} transactions
+     */
+    @Query("""
+            SELECT t FROM Transaction t
+            WHERE t.owner.userId = :ownerId
+              AND (:type IS NULL OR t.transactionType = :type)
+            ORDER BY t.createdAt DESC, t.transactionId DESC
+            """)
+    List<Transaction> findFirstPageByOwnerId(
+            @Param("ownerId") UUID ownerId,
+            @Param("type") TransactionType type,
+            Pageable pageable);
+
+    /**
+     * Fetch the page of transactions of a specific user that comes right after
+     * the given keyset position, newest first.
+     * 
+     * @param ownerId       The ID of the user that owns the transactions
+     * @param type          The targeted transaction type, or {@code null} for all
+     *                      types
+     * @param createdAt     The creation date of the last transaction already seen
+     * @param transactionId The ID of the last transaction already seen
+     * @param pageable      The page size (the page number is ignored)
+     * @return A list of at most {@code pageable.getPageSize()} transactions
+     */
+    @Query("""
+            SELECT t FROM Transaction t
+            WHERE t.owner.userId = :ownerId
+              AND (:type IS NULL OR t.transactionType = :type)
+              AND (t.createdAt < :createdAt
+                   OR (t.createdAt = :createdAt AND t.transactionId < :transactionId))
+            ORDER BY t.createdAt DESC, t.transactionId DESC
+            """)
+    List<Transaction> findPageByOwnerIdAfter(
+            @Param("ownerId") UUID ownerId,
+            @Param("type") TransactionType type,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("transactionId") Long transactionId,
+            Pageable pageable);
+
+    /**
+     * Fetch the first page of transactions of a specific category, newest
+     * first.
+     * 
+     * @param categoryId The ID of the category
+     * @param pageable   The page size (the page number is ignored)
+     * @return A list of at most {@code pageable.getPageSize()} transactions
      */
-    List<Transaction> findByOwnerAndTransactionType(User owner, TransactionType type);
+    @Query("""
+            SELECT t FROM Category c JOIN c.transactions t
+            WHERE c.categoryId = :categoryId
+            ORDER BY t.createdAt DESC, t.transactionId DESC
+            """)
+    List<Transaction> findFirstPageByCategory(
+            @Param("categoryId") Long categoryId,
+            Pageable pageable);
 
     /**
-     * Fetch all transactions created in a specified time interval.
+     * Fetch the page of transactions of a specific category that comes right
+     * after the given keyset position, newest first.
      * 
-     * @param start The base date of the interval
-     * @param end   The limit date of the interval
-     * @return A list of transactions that match the given interval
+     * @param categoryId    The ID of the category
+     * @param createdAt     The creation date of the last transaction already seen
+     * @param transactionId The ID of the last transaction already seen
+     * @param pageable      The page size (the page number is ignored)
+     * @return A list of at most {@code pageable.getPageSize()} transactions
      */
-    List<Transaction> findByOwnerAndCreatedAtBetween(User owner, LocalDateTime start, LocalDateTime end);
+    @Query("""
+            SELECT t FROM Category c JOIN c.transactions t
+            WHERE c.categoryId = :categoryId
+              AND (t.createdAt < :createdAt
+                   OR (t.createdAt = :createdAt AND t.transactionId < :transactionId))
+            ORDER BY t.createdAt DESC, t.transactionId DESC
+            """)
+    List<Transaction> findPageByCategoryAfter(
+            @Param("categoryId") Long categoryId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("transactionId") Long transactionId,
+            Pageable pageable);
+
+    /**
+     * Sum the incomes and the expenses of a user created in a specified time
+     * interval, separately.
+     * 
+     * @param ownerId The ID of the user that owns the transactions
+     * @param start   The base date of the interval
+     * @param end     The limit date of the interval
+     * @return The income and expense totals, both zero if there are no
+     *         transactions
+     */
+    @Query("""
+            SELECT
+              COALESCE(SUM(CASE WHEN t.transactionType = INCOME THEN t.amount ELSE 0.0 END), 0.0) AS income,
+              COALESCE(SUM(CASE WHEN t.transactionType = EXPENSE THEN t.amount ELSE 0.0 END), 0.0) AS expense
+            FROM Transaction t
+            WHERE t.owner.userId = :ownerId
+              AND t.createdAt BETWEEN :start AND :end
+            """)
+    BalanceSummary summarizeByOwnerIdAndCreatedAtBetween(
+            @Param("ownerId") UUID ownerId,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
+    /**
+     * Sum the incomes and the expenses of the given users, grouped by user and by
+     * the month the transactions were created in.
+     * 
+     * @param ownerIds The IDs of the users that own the transactions
+     * @return The monthly totals of every user that has transactions
+     */
+    @Query("""
+            SELECT
+              t.owner.userId AS userId,
+              YEAR(t.createdAt) AS year,
+              MONTH(t.createdAt) AS month,
+              COALESCE(SUM(CASE WHEN t.transactionType = INCOME THEN t.amount ELSE 0.0 END), 0.0) AS income,
+              COALESCE(SUM(CASE WHEN t.transactionType = EXPENSE THEN t.amount ELSE 0.0 END), 0.0) AS expense
+            FROM Transaction t
+            WHERE t.owner.userId IN :ownerIds
+            GROUP BY t.owner.userId, YEAR(t.createdAt), MONTH(t.createdAt)
+            """)
+    List<MonthlyTotals> summarizeMonthlyByOwnerIds(@Param("ownerIds") Collection<UUID> ownerIds);
 
     /**
      * Featch all recurrent transactions.
@@ -43,4 +175,118 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
      * @return A list of transactions that are recurrent
      */
     List<Transaction> findByIsRecurrentTrue();
+
+    /**
+     * Fetch the highest ID among the recurrent transactions.
+     * 
+     * @return The highest ID, or {@code null} if there are no recurrent
+     *         transactions
+     */
+    @Query("SELECT MAX(t.transactionId) FROM Transaction t WHERE t.isRecurrent = true")
+    Long findMaxRecurrentTransactionId();
+
+    /**
+     * Lock the rows of a set of transactions until the end of the current DB
+     * transaction, so their category can be read and changed without a
+     * concurrent move in between. Rows are locked in ID order, so overlapping
+     * sets cannot deadlock.
+     * 
+     * @param transactionIds The IDs of the transactions
+     * @return The IDs of the locked transactions
+     */
+    @Query(nativeQuery = true, value = """
+            SELECT transaction_id FROM transaction
+            WHERE transaction_id IN (:transactionIds)
+            ORDER BY transaction_id
+            FOR UPDATE
+            """)
+    List<Long> lockByIds(@Param("transactionIds") Collection<Long> transactionIds);
+
+    /**
+     * Point a transaction to a category by writing its foreign key, without
+     * loading the members of the category.
+     * 
+     * @param transactionId The ID of the transaction
+     * @param categoryId    The ID of the category
+     * @return The number of updated rows; zero if the transaction already
+     *         belongs to the category
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            UPDATE transaction SET category_id = :categoryId
+            WHERE transaction_id = :transactionId
+              AND (category_id IS NULL OR category_id <> :categoryId)
+            """)
+    int assignCategory(
+            @Param("transactionId") Long transactionId,
+            @Param("categoryId") Long categoryId);
+
+    /**
+     * Detach a transaction from a category by clearing its foreign key, without
+     * loading the members of the category.
+     * 
+     * @param transactionId The ID of the transaction
+     * @param categoryId    The ID of the category
+     * @return The number of updated rows; zero if the transaction does not
+     *         belong to the category
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            UPDATE transaction SET category_id = NULL
+            WHERE transaction_id = :transactionId AND category_id = :categoryId
+            """)
+    int unassignCategory(
+            @Param("transactionId") Long transactionId,
+            @Param("categoryId") Long categoryId);
+
+    /**
+     * Count the given transactions by owner and type, so a whole set can be
+     * validated at once.
+     * 
+     * @param transactionIds The IDs of the transactions
+     * @return One count per distinct owner and type among the existing
+     *         transactions
+     */
+    @Query("""
+            SELECT t.owner.userId AS ownerId, t.transactionType AS transactionType, COUNT(t) AS total
+            FROM Transaction t
+            WHERE t.transactionId IN :transactionIds
+            GROUP BY t.owner.userId, t.transactionType
+            """)
+    List<TransactionGroupCount> countByOwnerAndType(@Param("transactionIds") Collection<Long> transactionIds);
+
+    /**
+     * Sum the amounts of the given transactions that do not belong to a
+     * category yet.
+     * 
+     * @param transactionIds The IDs of the transactions
+     * @param categoryId     The ID of the category
+     * @return The sum of the amounts, zero if every transaction already belongs
+     *         to the category
+     */
+    @Query(nativeQuery = true, value = """
+            SELECT COALESCE(SUM(amount), 0) FROM transaction
+            WHERE transaction_id IN (:transactionIds)
+              AND (category_id IS NULL OR category_id <> :categoryId)
+            """)
+    Double sumAmountOutsideCategory(
+            @Param("transactionIds") Collection<Long> transactionIds,
+            @Param("categoryId") Long categoryId);
+
+    /**
+     * Point a set of transactions to a category by writing their foreign key.
+     * 
+     * @param transactionIds The IDs of the transactions
+     * @param categoryId     The ID of the category
+     * @return The number of updated rows
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            UPDATE transaction SET category_id = :categoryId
+            WHERE transaction_id IN (:transactionIds)
+              AND (category_id IS NULL OR category_id <> :categoryId)
+            """)
+    int assignCategoryToAll(
+            @Param("transactionIds") Collection<Long> transactionIds,
+            @Param("categoryId") Long categoryId);
 }
@@ -1,14 +1,93 @@
 package com.dougdomingos.expensetracker.repositories;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.dougdomingos.expensetracker.config.CacheNames;
 import com.dougdomingos.expensetracker.entities.user.User;
 
+import jakarta.transaction.Transactional;
+
+/**
+ * Lookups by ID and username are cached, keyed by their string form so that
+ * evictions can be broadcast to other nodes. Cached users are detached, so
+ * they must only be read, or turned into a reference before being written.
+ */
 public interface UserRepository extends JpaRepository<User, UUID> {
+
+    @Cacheable(cacheNames = CacheNames.USERS_BY_NAME, key = "#p0")
     Optional<User> findByUsername(String username);
 
+    @Cacheable(cacheNames = CacheNames.USERS_BY_ID, key = "#p0.toString()", unless = "#result == null")
     User findByUserId(UUID userId);
+
+    /**
+     * Fetch the IDs of the users that come after the given ID, in ID order. Used
+     * to walk over all users in chunks.
+     * 
+     * @param userId   The last user ID already seen, or {@code null} to start from
+     *                 the beginning
+     * @param pageable The chunk size (the page number is ignored)
+     * @return A list of user IDs
+     */
+    @Query("""
+            SELECT u.userId FROM User u
+            WHERE :userId IS NULL OR u.userId > :userId
+            ORDER BY u.userId
+            """)
+    List<UUID> findUserIdsAfter(@Param("userId") UUID userId, Pageable pageable);
+
+    /**
+     * Replace the password hash of a user, without merging the (possibly cached)
+     * user entity.
+     * 
+     * @param user     The user whose password is replaced
+     * @param password The new password hash
+     * @return The number of updated rows
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :password WHERE u.userId = :#{#user.userId}")
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheNames.USERS_BY_NAME, key = "#p0.username"),
+            @CacheEvict(cacheNames = CacheNames.USERS_BY_ID, key = "#p0.userId.toString()")
+    })
+    int updatePassword(@Param("user") User user, @Param("password") String password);
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheNames.USERS_BY_NAME, key = "#result.username"),
+            @CacheEvict(cacheNames = CacheNames.USERS_BY_ID, key = "#result.userId.toString()")
+    })
+    <S extends User> S save(S user);
+
+    @Override
+    @CacheEvict(cacheNames = { CacheNames.USERS_BY_NAME, CacheNames.USERS_BY_ID }, allEntries = true)
+    <S extends User> List<S> saveAll(Iterable<S> users);
+
+    @Override
+    @CacheEvict(cacheNames = { CacheNames.USERS_BY_NAME, CacheNames.USERS_BY_ID }, allEntries = true)
+    void delete(User user);
+
+    @Override
+    @CacheEvict(cacheNames = { CacheNames.USERS_BY_NAME, CacheNames.USERS_BY_ID }, allEntries = true)
+    void deleteById(UUID userId);
+
+    @Override
+    @CacheEvict(cacheNames = { CacheNames.USERS_BY_NAME, CacheNames.USERS_BY_ID }, allEntries = true)
+    void deleteAll(Iterable<? extends User> users);
+
+    @Override
+    @CacheEvict(cacheNames = { CacheNames.USERS_BY_NAME, CacheNames.USERS_BY_ID }, allEntries = true)
+    void deleteAll();
 }
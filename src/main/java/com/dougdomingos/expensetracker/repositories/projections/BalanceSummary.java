@@ -0,0 +1,13 @@
+package com.dougdomingos.expensetracker.repositories.projections;
+
+/**
+ * Income and expense totals of a set of transactions, computed by the
+ * database. Expenses are stored as negative amounts, so {@code getExpense()}
+ * is zero or negative.
+ */
+public interface BalanceSummary {
+
+    Double getIncome();
+
+    Double getExpense();
+}
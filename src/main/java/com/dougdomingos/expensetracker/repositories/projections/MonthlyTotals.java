@@ -0,0 +1,16 @@
+package com.dougdomingos.expensetracker.repositories.projections;
+
+import java.util.UUID;
+
+/**
+ * Income and expense totals of a user in a given month, computed by the
+ * database from the transaction rows.
+ */
+public interface MonthlyTotals extends BalanceSummary {
+
+    UUID getUserId();
+
+    Integer getYear();
+
+    Integer getMonth();
+}
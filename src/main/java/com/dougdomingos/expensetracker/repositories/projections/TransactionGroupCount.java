@@ -0,0 +1,18 @@
+package com.dougdomingos.expensetracker.repositories.projections;
+
+import java.util.UUID;
+
+import com.dougdomingos.expensetracker.entities.transaction.TransactionType;
+
+/**
+ * Number of transactions of a set that share the same owner and type,
+ * computed by the database.
+ */
+public interface TransactionGroupCount {
+
+    UUID getOwnerId();
+
+    TransactionType getTransactionType();
+
+    Long getTotal();
+}
@@ -0,0 +1,50 @@
+package com.dougdomingos.expensetracker.services.cache;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public abstract class AbstractCacheInvalidationBus implements CacheInvalidationBus {
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final List<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void publish(String cacheName, String key) {
+        send(new CacheInvalidation(nodeId, cacheName, key));
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Hands a message received from the channel to every subscriber. Messages
+     * sent by this node are delivered as well; subscribers decide whether to
+     * skip them.
+     * 
+     * @param message The received invalidation
+     */
+    public void deliver(CacheInvalidation message) {
+        for (Consumer<CacheInvalidation> listener : listeners) {
+            try {
+                listener.accept(message);
+            } catch (RuntimeException e) {
+                log.warn("Cache invalidation listener failed for {}", message, e);
+            }
+        }
+    }
+
+    protected abstract void send(CacheInvalidation message);
+}
@@ -0,0 +1,226 @@
+package com.dougdomingos.expensetracker.services.cache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Cache manager whose caches broadcast their evictions through the
+ * invalidation bus, and apply the evictions broadcast by other nodes. Cache
+ * keys must have a stable string form, since that is what gets broadcast.
+ * <p>
+ * Since every eviction, local or remote, goes through these caches, they also
+ * count them as a {@link GenerationalCache}. Counts are kept per stripe of
+ * keys, which bounds their memory at the cost of an unrelated key sometimes
+ * failing to store its value.
+ */
+public class BroadcastingCacheManager implements CacheManager {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final CacheManager targetCacheManager;
+
+    private final CacheInvalidationBus invalidationBus;
+
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public BroadcastingCacheManager(CacheManager targetCacheManager, CacheInvalidationBus invalidationBus) {
+        this.targetCacheManager = targetCacheManager;
+        this.invalidationBus = invalidationBus;
+        invalidationBus.subscribe(this::applyRemoteInvalidation);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache targetCache = targetCacheManager.getCache(name);
+        if (targetCache == null) {
+            return null;
+        }
+
+        return caches.computeIfAbsent(name, (cacheName) -> new BroadcastingCache(targetCache));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return targetCacheManager.getCacheNames();
+    }
+
+    /**
+     * Evicts locally what another node evicted, without broadcasting it again.
+     */
+    private void applyRemoteInvalidation(CacheInvalidation message) {
+        if (invalidationBus.getNodeId().equals(message.getNodeId())) {
+            return;
+        }
+
+        BroadcastingCache cache = (BroadcastingCache) getCache(message.getCacheName());
+        if (cache == null) {
+            return;
+        }
+
+        if (message.isClear()) {
+            cache.bumpAllGenerations();
+            cache.target.clear();
+        } else {
+            cache.bumpGeneration(message.getKey());
+            cache.target.evict(message.getKey());
+        }
+    }
+
+    @RequiredArgsConstructor
+    private class BroadcastingCache implements GenerationalCache {
+
+        private final Cache target;
+
+        private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+        @Override
+        public String getName() {
+            return target.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return target.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            return target.get(key);
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return target.get(key, type);
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            return target.get(key, valueLoader);
+        }
+
+        @Override
+        public CompletableFuture<?> retrieve(Object key) {
+            return target.retrieve(key);
+        }
+
+        @Override
+        public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+            return target.retrieve(key, valueLoader);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            target.put(key, value);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            return target.putIfAbsent(key, value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            // Registered before the deferred eviction, so it runs first
+            afterCommitOrNow(() -> bumpGeneration(key));
+            target.evict(key);
+            invalidationBus.publish(getName(), key.toString());
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            bumpGeneration(key);
+            boolean evicted = target.evictIfPresent(key);
+            invalidationBus.publish(getName(), key.toString());
+            return evicted;
+        }
+
+        @Override
+        public void clear() {
+            afterCommitOrNow(this::bumpAllGenerations);
+            target.clear();
+            invalidationBus.publish(getName(), null);
+        }
+
+        @Override
+        public boolean invalidate() {
+            bumpAllGenerations();
+            boolean invalidated = target.invalidate();
+            invalidationBus.publish(getName(), null);
+            return invalidated;
+        }
+
+        @Override
+        public long generation(Object key) {
+            return generations.get(stripe(key));
+        }
+
+        /**
+         * Checks the generation again after storing the value: an eviction
+         * bumps it before removing the key, so one racing the store either
+         * removes the value itself or is caught by the second check.
+         */
+        @Override
+        public boolean putIfGeneration(Object key, Object value, long generation) {
+            int stripe = stripe(key);
+            if (generations.get(stripe) != generation) {
+                return false;
+            }
+
+            target.putIfAbsent(key, value);
+            if (generations.get(stripe) != generation) {
+                target.evictIfPresent(key);
+                return false;
+            }
+
+            return true;
+        }
+
+        private void bumpGeneration(Object key) {
+            generations.incrementAndGet(stripe(key));
+        }
+
+        private void bumpAllGenerations() {
+            for (int stripe = 0; stripe < GENERATION_STRIPES; stripe++) {
+                generations.incrementAndGet(stripe);
+            }
+        }
+
+        /**
+         * Keys are matched by their string form, as remote evictions carry it.
+         */
+        private int stripe(Object key) {
+            int hash = key.toString().hashCode();
+            return Math.floorMod(hash ^ (hash >>> 16), GENERATION_STRIPES);
+        }
+
+        /**
+         * Runs an action once the surrounding transaction commits, the moment
+         * a transaction-aware target applies its deferred evictions.
+         */
+        private void afterCommitOrNow(Runnable action) {
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                action.run();
+                return;
+            }
+
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+}
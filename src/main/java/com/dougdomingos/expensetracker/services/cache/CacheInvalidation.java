@@ -0,0 +1,56 @@
+package com.dougdomingos.expensetracker.services.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Eviction of a cache entry, broadcast by the node that performed it. A
+ * {@code null} key stands for the whole cache.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidation {
+
+    private static final String SEPARATOR = "|";
+
+    private static final String EVICT = "E";
+
+    private static final String CLEAR = "C";
+
+    private String nodeId;
+
+    private String cacheName;
+
+    private String key;
+
+    public boolean isClear() {
+        return key == null;
+    }
+
+    /**
+     * Encodes the message as {@code nodeId|cacheName|E|key}, or as
+     * {@code nodeId|cacheName|C} for a whole cache, so an empty key is not
+     * mistaken for it. The key goes last, so it may contain the separator.
+     */
+    public String encode() {
+        return nodeId + SEPARATOR + cacheName + SEPARATOR + (key == null ? CLEAR : EVICT + SEPARATOR + key);
+    }
+
+    public static CacheInvalidation decode(String payload) {
+        String[] parts = payload.split("\\" + SEPARATOR, 4);
+
+        if (parts.length == 3 && CLEAR.equals(parts[2])) {
+            return new CacheInvalidation(parts[0], parts[1], null);
+        }
+
+        if (parts.length == 4 && EVICT.equals(parts[2])) {
+            return new CacheInvalidation(parts[0], parts[1], parts[3]);
+        }
+
+        throw new IllegalArgumentException("Malformed cache invalidation: " + payload);
+    }
+}
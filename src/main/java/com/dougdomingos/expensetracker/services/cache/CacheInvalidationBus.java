@@ -0,0 +1,16 @@
+package com.dougdomingos.expensetracker.services.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Channel through which the nodes of the cluster tell each other about the
+ * cache entries they evicted, so every node can keep local caches.
+ */
+public interface CacheInvalidationBus {
+
+    public String getNodeId();
+
+    public void publish(String cacheName, String key);
+
+    public void subscribe(Consumer<CacheInvalidation> listener);
+}
@@ -0,0 +1,53 @@
+package com.dougdomingos.expensetracker.services.cache;
+
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+
+/**
+ * Read-through helpers for the caches that are filled from the database.
+ */
+public final class CacheLookups {
+
+    private CacheLookups() {
+    }
+
+    /**
+     * Returns the cached value of a key, computing and storing it on a miss.
+     * <p>
+     * The value is deliberately computed outside the cache: {@link Cache#get(Object,
+     * java.util.concurrent.Callable)} runs the loader while holding a lock of the
+     * underlying map, and a loader waiting for a pooled connection there blocks
+     * every thread that evicts a key of the same bin while holding one, until the
+     * pool times out. Concurrent misses may compute the same value twice instead.
+     * <p>
+     * On a {@link GenerationalCache}, the value is not stored if its key was
+     * evicted while it was computed, since it may have been read from a row that
+     * was changing.
+     * <p>
+     * A missing cache, as returned by {@code CacheManager#getCache} for a name
+     * that is not configured, computes the value on every call.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T getOrCompute(Cache cache, Object key, Supplier<T> loader) {
+        if (cache == null) {
+            return loader.get();
+        }
+
+        Cache.ValueWrapper cached = cache.get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+
+        if (cache instanceof GenerationalCache generationalCache) {
+            long generation = generationalCache.generation(key);
+            T value = loader.get();
+            generationalCache.putIfGeneration(key, value, generation);
+            return value;
+        }
+
+        T value = loader.get();
+        cache.putIfAbsent(key, value);
+        return value;
+    }
+}
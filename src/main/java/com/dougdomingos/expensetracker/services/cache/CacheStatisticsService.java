@@ -0,0 +1,10 @@
+package com.dougdomingos.expensetracker.services.cache;
+
+import java.util.List;
+
+import com.dougdomingos.expensetracker.dto.cache.CacheStatisticsDTO;
+
+public interface CacheStatisticsService {
+
+    List<CacheStatisticsDTO> getStatistics();
+}
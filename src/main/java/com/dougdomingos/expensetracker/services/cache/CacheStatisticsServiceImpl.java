@@ -0,0 +1,48 @@
+package com.dougdomingos.expensetracker.services.cache;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import com.dougdomingos.expensetracker.dto.cache.CacheStatisticsDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class CacheStatisticsServiceImpl implements CacheStatisticsService {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Returns the statistics of every Caffeine cache, in name order. Counters
+     * are cumulative since startup.
+     */
+    @Override
+    public List<CacheStatisticsDTO> getStatistics() {
+        return cacheManager.getCacheNames()
+                .stream()
+                .sorted()
+                .map(cacheManager::getCache)
+                .filter(Objects::nonNull)
+                .filter((cache) -> cache.getNativeCache() instanceof Cache)
+                .map((cache) -> {
+                    Cache<?, ?> nativeCache = (Cache<?, ?>) cache.getNativeCache();
+                    CacheStats stats = nativeCache.stats();
+
+                    return CacheStatisticsDTO.builder()
+                            .name(cache.getName())
+                            .size(nativeCache.estimatedSize())
+                            .hitCount(stats.hitCount())
+                            .missCount(stats.missCount())
+                            .hitRate(stats.hitRate())
+                            .evictionCount(stats.evictionCount())
+                            .build();
+                })
+                .toList();
+    }
+}
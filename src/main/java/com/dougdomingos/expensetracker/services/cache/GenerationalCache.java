@@ -0,0 +1,24 @@
+package com.dougdomingos.expensetracker.services.cache;
+
+import org.springframework.cache.Cache;
+
+/**
+ * Cache that counts the evictions of its keys, so a value computed outside of
+ * it can be stored only if its key was not evicted while it was computed.
+ */
+public interface GenerationalCache extends Cache {
+
+    /**
+     * Returns the eviction count of a key, to be read before computing its
+     * value.
+     */
+    public long generation(Object key);
+
+    /**
+     * Stores a value unless its key was evicted since {@code generation} was
+     * read.
+     *
+     * @return Whether the value was stored
+     */
+    public boolean putIfGeneration(Object key, Object value, long generation);
+}
@@ -0,0 +1,13 @@
+package com.dougdomingos.expensetracker.services.cache;
+
+/**
+ * Invalidation bus of a single node, for H2 and tests: messages are delivered
+ * right away to the subscribers of the same application context.
+ */
+public class InMemoryCacheInvalidationBus extends AbstractCacheInvalidationBus {
+
+    @Override
+    protected void send(CacheInvalidation message) {
+        deliver(message);
+    }
+}
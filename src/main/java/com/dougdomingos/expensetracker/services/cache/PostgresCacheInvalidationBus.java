@@ -0,0 +1,146 @@
+package com.dougdomingos.expensetracker.services.cache;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Invalidation bus backed by PostgreSQL LISTEN/NOTIFY. Every node keeps one
+ * connection listening on the channel, opened outside the pool so it does not
+ * take a pooled connection for the lifetime of the application. Messages are
+ * sent on the connection of the caller's DB transaction, if there is one, so
+ * PostgreSQL delivers them when that transaction commits and drops them if it
+ * rolls back, without taking a second pooled connection. A message that cannot
+ * be sent fails the caller's transaction.
+ */
+@Slf4j
+public class PostgresCacheInvalidationBus extends AbstractCacheInvalidationBus
+        implements InitializingBean, DisposableBean {
+
+    private static final String NOTIFY_SQL = "SELECT pg_notify(?, ?)";
+
+    private static final int POLL_TIMEOUT_MILLIS = 1000;
+
+    private static final long RECONNECT_DELAY_MILLIS = 5000;
+
+    private final DataSource dataSource;
+
+    private final String url;
+
+    private final String username;
+
+    private final String password;
+
+    private final String channel;
+
+    private volatile boolean running;
+
+    private Thread listenerThread;
+
+    /**
+     * @param dataSource The pool on which messages are sent
+     * @param url        The JDBC URL of the listening connection
+     * @param username   The user of the listening connection
+     * @param password   The password of the listening connection
+     * @param channel    The notification channel
+     */
+    public PostgresCacheInvalidationBus(
+            DataSource dataSource, String url, String username, String password, String channel) {
+
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid notification channel: " + channel);
+        }
+
+        this.dataSource = dataSource;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.channel = channel;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        running = true;
+        listenerThread = new Thread(this::listen, "cache-invalidation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        listenerThread.interrupt();
+        listenerThread.join(POLL_TIMEOUT_MILLIS * 2L);
+    }
+
+    @Override
+    protected void send(CacheInvalidation message) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+
+        try (PreparedStatement statement = connection.prepareStatement(NOTIFY_SQL)) {
+            statement.setString(1, channel);
+            statement.setString(2, message.encode());
+            statement.execute();
+        } catch (SQLException e) {
+            // The failure has aborted the caller's DB transaction, so it fails
+            // right away rather than on its next statement
+            throw new UncategorizedSQLException("broadcast cache invalidation " + message, NOTIFY_SQL, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * Listens on the channel until shutdown, reconnecting after failures.
+     * Evictions broadcast while this node is disconnected are lost, so the
+     * cache TTLs bound how long such entries can stay stale.
+     */
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                log.info("Listening for cache invalidations on channel {}", channel);
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications == null) {
+                        continue;
+                    }
+
+                    for (PGNotification notification : notifications) {
+                        deliver(CacheInvalidation.decode(notification.getParameter()));
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+
+                log.error("Cache invalidation listener failed, reconnecting", e);
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.dougdomingos.expensetracker.services.cache;
+
+import java.time.YearMonth;
+import java.util.UUID;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import com.dougdomingos.expensetracker.config.CacheKeys;
+import com.dougdomingos.expensetracker.config.CacheNames;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Evicts the per-user entries affected by a write. The cache manager is
+ * transaction aware, so evictions requested inside a DB transaction only run
+ * after it commits, and reach the other nodes with that commit.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserDataCacheEvictor {
+
+    private final CacheManager cacheManager;
+
+    public void evictBalance(UUID userId, YearMonth month) {
+        evict(CacheNames.BALANCES, CacheKeys.balance(userId, month));
+    }
+
+    public void evictCategorySummaries(UUID userId) {
+        evict(CacheNames.CATEGORY_SUMMARIES, CacheKeys.categorySummaries(userId));
+    }
+
+    private void evict(String cacheName, String key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+}
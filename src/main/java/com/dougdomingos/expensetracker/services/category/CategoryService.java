@@ -3,6 +3,7 @@ package com.dougdomingos.expensetracker.services.category;
 import java.util.List;
 
 import com.dougdomingos.expensetracker.dto.category.CategoryResponseDTO;
+import com.dougdomingos.expensetracker.dto.category.CategorySummaryDTO;
 import com.dougdomingos.expensetracker.dto.category.CreateCategoryDTO;
 import com.dougdomingos.expensetracker.dto.category.EditCategoryDTO;
 
@@ -12,7 +13,7 @@ public interface CategoryService {
 
     CategoryResponseDTO getCategory(Long id);
 
-    List<CategoryResponseDTO> listCategories();
+    List<CategorySummaryDTO> listCategories();
 
     CategoryResponseDTO editCategory(Long id, EditCategoryDTO categoryDTO);
 
@@ -1,19 +1,24 @@
 package com.dougdomingos.expensetracker.services.category;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.UUID;
 
-import org.modelmapper.ModelMapper;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
-import com.dougdomingos.expensetracker.auth.AuthUtils;
+import com.dougdomingos.expensetracker.auth.AuthenticatedUser;
+import com.dougdomingos.expensetracker.config.CacheKeys;
+import com.dougdomingos.expensetracker.config.CacheNames;
 import com.dougdomingos.expensetracker.dto.category.CategoryResponseDTO;
+import com.dougdomingos.expensetracker.dto.category.CategorySummaryDTO;
 import com.dougdomingos.expensetracker.dto.category.CreateCategoryDTO;
 import com.dougdomingos.expensetracker.dto.category.EditCategoryDTO;
 import com.dougdomingos.expensetracker.entities.categories.Category;
 import com.dougdomingos.expensetracker.entities.user.User;
+import com.dougdomingos.expensetracker.mappers.CategoryMapper;
 import com.dougdomingos.expensetracker.repositories.CategoryRepository;
-import com.dougdomingos.expensetracker.repositories.UserRepository;
+import com.dougdomingos.expensetracker.services.cache.CacheLookups;
+import com.dougdomingos.expensetracker.services.cache.UserDataCacheEvictor;
 import com.dougdomingos.expensetracker.utils.EntityAccessUtils;
 
 import lombok.RequiredArgsConstructor;
@@ -24,56 +29,64 @@ public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
 
-    private final UserRepository userRepository;
+    private final AuthenticatedUser authenticatedUser;
 
     private final EntityAccessUtils entityAccessUtils;
 
-    private final ModelMapper mapper;
+    private final UserDataCacheEvictor cacheEvictor;
+
+    private final CacheManager cacheManager;
 
     @Override
     public CategoryResponseDTO createCategory(CreateCategoryDTO categoryDTO) {
 
-        User categoryOwner = userRepository.findByUserId(AuthUtils.getAuthenticatedUserID());
-        Category newCategory = mapper.map(categoryDTO, Category.class);
+        User categoryOwner = authenticatedUser.getReference();
+        Category newCategory = CategoryMapper.toEntity(categoryDTO);
 
         newCategory.setOwner(categoryOwner);
 
         categoryRepository.save(newCategory);
-        return mapper.map(newCategory, CategoryResponseDTO.class);
+        cacheEvictor.evictCategorySummaries(categoryOwner.getUserId());
+
+        return CategoryMapper.toResponse(newCategory);
     }
 
     @Override
     public CategoryResponseDTO editCategory(Long id, EditCategoryDTO categoryDTO) {
         Category category = entityAccessUtils.fetchUserCategory(id);
 
-        mapper.map(categoryDTO, category);
+        CategoryMapper.updateEntity(categoryDTO, category);
         categoryRepository.save(category);
+        cacheEvictor.evictCategorySummaries(authenticatedUser.getId());
 
-        return mapper.map(category, CategoryResponseDTO.class);
+        return CategoryMapper.toResponse(category);
     }
 
     @Override
     public CategoryResponseDTO getCategory(Long id) {
         Category category = entityAccessUtils.fetchUserCategory(id);
-        return mapper.map(category, CategoryResponseDTO.class);
+        return CategoryMapper.toResponse(category);
     }
 
+    /**
+     * Lists the categories of the current user. The listing is cached per user
+     * and evicted by every write to the categories or their membership.
+     */
     @Override
-    public List<CategoryResponseDTO> listCategories() {
-        List<Category> categories;
-        User currentUser = userRepository.findByUserId(AuthUtils.getAuthenticatedUserID());
-
-        categories = categoryRepository.findByOwner(currentUser);
+    public List<CategorySummaryDTO> listCategories() {
+        UUID userId = authenticatedUser.getId();
 
-        return categories.stream()
-                .map((category) -> mapper.map(category, CategoryResponseDTO.class))
-                .collect(Collectors.toList());
+        return CacheLookups.getOrCompute(
+                cacheManager.getCache(CacheNames.CATEGORY_SUMMARIES),
+                CacheKeys.categorySummaries(userId),
+                () -> categoryRepository.summarizeByOwnerId(userId));
     }
 
     @Override
     public void removeCategory(Long id) {
         Category category = entityAccessUtils.fetchUserCategory(id);
         categoryRepository.delete(category);
+        cacheEvictor.evictCategorySummaries(authenticatedUser.getId());
     }
 
 }
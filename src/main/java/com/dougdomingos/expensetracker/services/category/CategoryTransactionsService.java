@@ -1,10 +1,17 @@
 package com.dougdomingos.expensetracker.services.category;
 
-import com.dougdomingos.expensetracker.dto.category.CategoryResponseDTO;
+import java.util.List;
+
+import com.dougdomingos.expensetracker.dto.category.CategorySummaryDTO;
+import com.dougdomingos.expensetracker.dto.transaction.TransactionPageResponseDTO;
 
 public interface CategoryTransactionsService {
 
-    CategoryResponseDTO addTransactionToCategory(Long categoryId, Long transactionId);
+    CategorySummaryDTO addTransactionToCategory(Long categoryId, Long transactionId);
+
+    CategorySummaryDTO addTransactionsToCategory(Long categoryId, List<Long> transactionIds);
+
+    CategorySummaryDTO removeTransactionFromCategory(Long categoryId, Long transactionId);
 
-    CategoryResponseDTO removeTransactionFromCategory(Long categoryId, Long transactionId);
+    TransactionPageResponseDTO listCategoryTransactions(Long categoryId, String cursor, int limit);
 }
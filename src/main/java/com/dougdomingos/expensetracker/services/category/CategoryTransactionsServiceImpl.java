@@ -1,50 +1,158 @@
 package com.dougdomingos.expensetracker.services.category;
 
-import org.modelmapper.ModelMapper;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 
-import com.dougdomingos.expensetracker.dto.category.CategoryResponseDTO;
+import com.dougdomingos.expensetracker.auth.AuthenticatedUser;
+import com.dougdomingos.expensetracker.dto.category.CategorySummaryDTO;
+import com.dougdomingos.expensetracker.dto.transaction.TransactionPageResponseDTO;
 import com.dougdomingos.expensetracker.entities.categories.Category;
 import com.dougdomingos.expensetracker.entities.transaction.Transaction;
 import com.dougdomingos.expensetracker.exceptions.category.CategoryTypeMismatchException;
+import com.dougdomingos.expensetracker.exceptions.transaction.TransactionNotFoundException;
 import com.dougdomingos.expensetracker.repositories.CategoryRepository;
+import com.dougdomingos.expensetracker.repositories.TransactionRepository;
+import com.dougdomingos.expensetracker.repositories.projections.TransactionGroupCount;
+import com.dougdomingos.expensetracker.services.cache.UserDataCacheEvictor;
 import com.dougdomingos.expensetracker.utils.EntityAccessUtils;
+import com.dougdomingos.expensetracker.utils.TransactionPages;
 
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class CategoryTransactionsServiceImpl implements CategoryTransactionsService {
 
+    /**
+     * Number of transaction IDs bound to a single statement, which keeps the
+     * {@code IN} lists well below the bind parameter limits of the database.
+     */
+    private static final int ASSIGNMENT_BATCH_SIZE = 1000;
+
     private final CategoryRepository categoryRepository;
 
+    private final TransactionRepository transactionRepository;
+
     private final EntityAccessUtils entityAccessUtils;
 
-    private final ModelMapper mapper;
+    private final AuthenticatedUser authenticatedUser;
+
+    private final UserDataCacheEvictor cacheEvictor;
 
+    /**
+     * Adds a transaction to a category by writing its foreign key and adjusting
+     * the category totals in place, so the cost does not depend on the size of
+     * the category. A transaction moving from another category is subtracted
+     * from that category's totals. The transaction row is locked before its
+     * category is read, so concurrent moves of it apply one after another.
+     */
     @Override
-    public CategoryResponseDTO addTransactionToCategory(Long categoryId, Long transactionId) {
+    @Transactional
+    public CategorySummaryDTO addTransactionToCategory(Long categoryId, Long transactionId) {
         Category category = entityAccessUtils.fetchUserCategory(categoryId);
+        transactionRepository.lockByIds(List.of(transactionId));
         Transaction transactionToAdd = entityAccessUtils.fetchUserTransaction(transactionId);
 
         if (!category.matchesTypeOfCategory(transactionToAdd)) {
             throw new CategoryTypeMismatchException();
         }
-        
-        category.addTransaction(transactionToAdd);
-        categoryRepository.save(category);
-        
-        return mapper.map(category, CategoryResponseDTO.class);
+
+        categoryRepository.subtractFromPreviousCategory(transactionId, categoryId);
+        if (transactionRepository.assignCategory(transactionId, categoryId) > 0) {
+            categoryRepository.addToTotals(categoryId, transactionToAdd.getAmount(), 1);
+        }
+
+        cacheEvictor.evictCategorySummaries(authenticatedUser.getId());
+        return categoryRepository.summarizeById(categoryId);
     }
 
+    /**
+     * Adds a set of transactions to a category in a single DB transaction.
+     * Ownership and type of the whole set are validated with grouped counts
+     * before anything is written, so either every transaction is assigned or
+     * none is.
+     */
     @Override
-    public CategoryResponseDTO removeTransactionFromCategory(Long categoryId, Long transactionId) {
+    @Transactional
+    public CategorySummaryDTO addTransactionsToCategory(Long categoryId, List<Long> transactionIds) {
         Category category = entityAccessUtils.fetchUserCategory(categoryId);
+        UUID currentUserId = authenticatedUser.getId();
+
+        List<Long> uniqueIds = new ArrayList<>(new LinkedHashSet<>(transactionIds));
+        List<List<Long>> batches = new ArrayList<>();
+        for (int from = 0; from < uniqueIds.size(); from += ASSIGNMENT_BATCH_SIZE) {
+            batches.add(uniqueIds.subList(from, Math.min(from + ASSIGNMENT_BATCH_SIZE, uniqueIds.size())));
+        }
+
+        long foundTransactions = 0;
+        for (List<Long> batch : batches) {
+            transactionRepository.lockByIds(batch);
+            for (TransactionGroupCount group : transactionRepository.countByOwnerAndType(batch)) {
+                if (!currentUserId.equals(group.getOwnerId())) {
+                    throw new AccessDeniedException("Current user does not own these transactions");
+                }
+
+                if (!category.getCategoryType().equals(group.getTransactionType())) {
+                    throw new CategoryTypeMismatchException();
+                }
+
+                foundTransactions += group.getTotal();
+            }
+        }
+
+        if (foundTransactions < uniqueIds.size()) {
+            throw new TransactionNotFoundException();
+        }
+
+        double amountDelta = 0.0;
+        long countDelta = 0;
+        for (List<Long> batch : batches) {
+            amountDelta += transactionRepository.sumAmountOutsideCategory(batch, categoryId);
+            categoryRepository.subtractFromPreviousCategories(batch, categoryId);
+            countDelta += transactionRepository.assignCategoryToAll(batch, categoryId);
+        }
+
+        categoryRepository.addToTotals(categoryId, amountDelta, countDelta);
+        cacheEvictor.evictCategorySummaries(currentUserId);
+
+        return categoryRepository.summarizeById(categoryId);
+    }
+
+    @Override
+    @Transactional
+    public CategorySummaryDTO removeTransactionFromCategory(Long categoryId, Long transactionId) {
+        entityAccessUtils.fetchUserCategory(categoryId);
+        transactionRepository.lockByIds(List.of(transactionId));
         Transaction transactionToRemove = entityAccessUtils.fetchUserTransaction(transactionId);
-        
-        category.removeTransaction(transactionToRemove);
-        categoryRepository.save(category);
 
-        return mapper.map(category, CategoryResponseDTO.class);
+        if (transactionRepository.unassignCategory(transactionId, categoryId) > 0) {
+            categoryRepository.addToTotals(categoryId, -transactionToRemove.getAmount(), -1);
+        }
+
+        cacheEvictor.evictCategorySummaries(authenticatedUser.getId());
+        return categoryRepository.summarizeById(categoryId);
+    }
+
+    @Override
+    public TransactionPageResponseDTO listCategoryTransactions(Long categoryId, String cursor, int limit) {
+        Category category = entityAccessUtils.fetchUserCategory(categoryId);
+
+        return TransactionPages.fetch(
+                cursor,
+                limit,
+                (pageable) -> transactionRepository.findFirstPageByCategory(
+                        category.getCategoryId(),
+                        pageable),
+                (position, pageable) -> transactionRepository.findPageByCategoryAfter(
+                        category.getCategoryId(),
+                        position.getCreatedAt(),
+                        position.getTransactionId(),
+                        pageable));
     }
 }
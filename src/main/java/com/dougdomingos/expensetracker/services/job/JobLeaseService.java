@@ -0,0 +1,8 @@
+package com.dougdomingos.expensetracker.services.job;
+
+public interface JobLeaseService {
+
+    public boolean runExclusively(String jobName, Runnable job);
+
+    public void renewLease(String jobName);
+}
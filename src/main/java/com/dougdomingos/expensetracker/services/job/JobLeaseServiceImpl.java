@@ -0,0 +1,134 @@
+package com.dougdomingos.expensetracker.services.job;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dougdomingos.expensetracker.exceptions.job.JobLeaseLostException;
+import com.dougdomingos.expensetracker.repositories.JobLeaseRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class JobLeaseServiceImpl implements JobLeaseService {
+
+    private final JobLeaseRepository jobLeaseRepository;
+
+    private final TransactionTemplate leaseTransaction;
+
+    private final Duration leaseDuration;
+
+    private final Duration minLeaseDuration;
+
+    private final String nodeId;
+
+    /**
+     * Jobs running on this node under their lease.
+     */
+    private final Set<String> heldLeases = ConcurrentHashMap.newKeySet();
+
+    public JobLeaseServiceImpl(
+            JobLeaseRepository jobLeaseRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${expensetracker.jobs.lease-duration:PT2H}") Duration leaseDuration,
+            @Value("${expensetracker.jobs.min-lease-duration:PT1M}") Duration minLeaseDuration) {
+
+        this.jobLeaseRepository = jobLeaseRepository;
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        this.leaseDuration = leaseDuration;
+        this.minLeaseDuration = minLeaseDuration;
+        this.nodeId = resolveHostName() + "/" + UUID.randomUUID();
+    }
+
+    /**
+     * Runs the job only if this node can take its lease, which lasts for the
+     * configured lease duration unless the job renews it. A node that dies
+     * while running leaves the lease to expire, after which another node can
+     * take the job over. Finished jobs still hold the lease for the minimum
+     * lease duration, so nodes firing slightly later on the same schedule skip
+     * it.
+     * 
+     * @return Whether the job ran on this node
+     */
+    @Override
+    public boolean runExclusively(String jobName, Runnable job) {
+        if (!tryAcquire(jobName)) {
+            log.debug("Skipping job {}: lease held by another node", jobName);
+            return false;
+        }
+
+        log.info("Node {} took the lease of job {}", nodeId, jobName);
+        heldLeases.add(jobName);
+
+        try {
+            job.run();
+        } finally {
+            heldLeases.remove(jobName);
+            leaseTransaction.executeWithoutResult(
+                    (status) -> jobLeaseRepository.release(jobName, nodeId, minLeaseDuration.toSeconds()));
+        }
+
+        return true;
+    }
+
+    /**
+     * Extends the lease of a job running on this node to a full lease duration
+     * from now, so runs longer than that are not taken over by another node.
+     * Long jobs call it between units of work; it does nothing for jobs not
+     * running under a lease on this node, such as runs triggered by hand.
+     * 
+     * @throws JobLeaseLostException If another node took the lease over
+     */
+    @Override
+    public void renewLease(String jobName) {
+        if (!heldLeases.contains(jobName)) {
+            return;
+        }
+
+        Integer renewed = leaseTransaction.execute(
+                (status) -> jobLeaseRepository.renew(jobName, nodeId, leaseDuration.toSeconds()));
+
+        if (renewed == null || renewed == 0) {
+            throw new JobLeaseLostException(jobName);
+        }
+    }
+
+    private boolean tryAcquire(String jobName) {
+        if (acquireExpired(jobName)) {
+            return true;
+        }
+
+        Integer created = leaseTransaction.execute((status) -> jobLeaseRepository.createExpired(jobName));
+
+        // The lease already existed and is held by another node
+        if (created == null || created == 0) {
+            return false;
+        }
+
+        return acquireExpired(jobName);
+    }
+
+    private boolean acquireExpired(String jobName) {
+        Integer updated = leaseTransaction.execute(
+                (status) -> jobLeaseRepository.acquireExpired(jobName, nodeId, leaseDuration.toSeconds()));
+
+        return updated != null && updated > 0;
+    }
+
+    private static String resolveHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown-host";
+        }
+    }
+}
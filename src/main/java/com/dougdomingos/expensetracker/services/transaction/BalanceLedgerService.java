@@ -0,0 +1,28 @@
+package com.dougdomingos.expensetracker.services.transaction;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.UUID;
+
+import com.dougdomingos.expensetracker.dto.transaction.LedgerVerificationReportDTO;
+import com.dougdomingos.expensetracker.entities.transaction.TransactionType;
+import com.dougdomingos.expensetracker.repositories.projections.BalanceSummary;
+
+public interface BalanceLedgerService {
+
+    public BalanceSummary getMonthlyTotals(UUID ownerId, YearMonth month);
+
+    public void recordTransactionChange(
+            UUID ownerId,
+            LocalDateTime createdAt,
+            TransactionType type,
+            Double amountDelta);
+
+    public void recordTransactionChange(
+            UUID ownerId,
+            LocalDateTime createdAt,
+            Double incomeDelta,
+            Double expenseDelta);
+
+    public LedgerVerificationReportDTO verifyLedger(boolean repair);
+}
@@ -0,0 +1,251 @@
+package com.dougdomingos.expensetracker.services.transaction;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dougdomingos.expensetracker.dto.transaction.LedgerVerificationReportDTO;
+import com.dougdomingos.expensetracker.entities.balance.MonthlyBalance;
+import com.dougdomingos.expensetracker.entities.balance.MonthlyBalanceId;
+import com.dougdomingos.expensetracker.entities.transaction.TransactionType;
+import com.dougdomingos.expensetracker.repositories.MonthlyBalanceRepository;
+import com.dougdomingos.expensetracker.repositories.TransactionRepository;
+import com.dougdomingos.expensetracker.repositories.UserRepository;
+import com.dougdomingos.expensetracker.repositories.projections.BalanceSummary;
+import com.dougdomingos.expensetracker.repositories.projections.MonthlyTotals;
+import com.dougdomingos.expensetracker.services.cache.UserDataCacheEvictor;
+import com.dougdomingos.expensetracker.services.job.JobLeaseService;
+
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class BalanceLedgerServiceImpl implements BalanceLedgerService {
+
+    private static final double TOLERANCE = 1e-6;
+
+    private static final String REPAIR_JOB_NAME = "balance-ledger-repair";
+
+    private final MonthlyBalanceRepository monthlyBalanceRepository;
+
+    private final TransactionRepository transactionRepository;
+
+    private final UserRepository userRepository;
+
+    private final JobLeaseService jobLeaseService;
+
+    private final UserDataCacheEvictor cacheEvictor;
+
+    private final TransactionTemplate chunkTransaction;
+
+    private final int chunkSize;
+
+    public BalanceLedgerServiceImpl(
+            MonthlyBalanceRepository monthlyBalanceRepository,
+            TransactionRepository transactionRepository,
+            UserRepository userRepository,
+            JobLeaseService jobLeaseService,
+            UserDataCacheEvictor cacheEvictor,
+            PlatformTransactionManager transactionManager,
+            @Value("${expensetracker.ledger.chunk-size:200}") int chunkSize) {
+
+        this.monthlyBalanceRepository = monthlyBalanceRepository;
+        this.transactionRepository = transactionRepository;
+        this.userRepository = userRepository;
+        this.jobLeaseService = jobLeaseService;
+        this.cacheEvictor = cacheEvictor;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Returns the totals of a user in a month from the ledger. Months without a
+     * ledger row yet are aggregated from the transactions instead.
+     */
+    @Override
+    public BalanceSummary getMonthlyTotals(UUID ownerId, YearMonth month) {
+        return monthlyBalanceRepository
+                .findById(MonthlyBalanceId.of(ownerId, month))
+                .map(BalanceSummary.class::cast)
+                .orElseGet(() -> summarizeTransactions(ownerId, month));
+    }
+
+    /**
+     * Applies the change of a transaction amount to the ledger. Must run in the
+     * same DB transaction as the transaction write itself, so the cached balance
+     * of the month is evicted once that transaction commits.
+     */
+    @Override
+    @Transactional
+    public void recordTransactionChange(
+            UUID ownerId,
+            LocalDateTime createdAt,
+            TransactionType type,
+            Double amountDelta) {
+
+        recordTransactionChange(
+                ownerId,
+                createdAt,
+                TransactionType.INCOME.equals(type) ? amountDelta : 0.0,
+                TransactionType.EXPENSE.equals(type) ? amountDelta : 0.0);
+    }
+
+    /**
+     * Applies the changes of several transactions of a user in a month to the
+     * ledger at once. Changes of the same write must be recorded together: the
+     * first change of a month seeds its row from the transactions, which already
+     * include every one of them.
+     */
+    @Override
+    @Transactional
+    public void recordTransactionChange(
+            UUID ownerId,
+            LocalDateTime createdAt,
+            Double incomeDelta,
+            Double expenseDelta) {
+
+        YearMonth month = YearMonth.from(createdAt);
+        MonthlyBalanceId id = MonthlyBalanceId.of(ownerId, month);
+
+        if (monthlyBalanceRepository.addToTotals(id, incomeDelta, expenseDelta) == 0) {
+            // First write of the month: seed the row from the transactions, which
+            // already include the change being recorded
+            BalanceSummary summary = summarizeTransactions(ownerId, month);
+
+            if (insertBalance(id, summary) == 0) {
+                // Another transaction seeded the row first, from committed
+                // transactions only, so this change still has to be added
+                monthlyBalanceRepository.addToTotals(id, incomeDelta, expenseDelta);
+            }
+        }
+
+        cacheEvictor.evictBalance(ownerId, month);
+    }
+
+    /**
+     * Recomputes the ledger from the transactions, one chunk of users per DB
+     * transaction, and compares it with the stored rows. When repairing, the
+     * ledger rows of a chunk are locked before being recomputed, so concurrent
+     * transaction writes are either fully included or applied afterwards.
+     */
+    @Override
+    public LedgerVerificationReportDTO verifyLedger(boolean repair) {
+        LedgerVerificationReportDTO report = LedgerVerificationReportDTO.builder()
+                .repair(repair)
+                .build();
+
+        UUID lastUserId = null;
+        List<UUID> userIds;
+
+        do {
+            userIds = userRepository.findUserIdsAfter(lastUserId, PageRequest.of(0, chunkSize));
+            if (userIds.isEmpty()) {
+                break;
+            }
+
+            List<UUID> chunk = userIds;
+            try {
+                chunkTransaction.executeWithoutResult((status) -> verifyChunk(chunk, repair, report));
+            } catch (RuntimeException e) {
+                log.warn("Ledger verification failed for a chunk of {} users", chunk.size(), e);
+                report.setFailedChunks(report.getFailedChunks() + 1);
+            }
+
+            report.setUsersScanned(report.getUsersScanned() + chunk.size());
+            lastUserId = chunk.get(chunk.size() - 1);
+        } while (userIds.size() == chunkSize);
+
+        log.info("Ledger verification finished: {}", report);
+        return report;
+    }
+
+    @Scheduled(cron = "${expensetracker.ledger.verify-cron:0 30 3 * * *}")
+    public void scheduledLedgerRepair() {
+        jobLeaseService.runExclusively(REPAIR_JOB_NAME, () -> verifyLedger(true));
+    }
+
+    private void verifyChunk(List<UUID> userIds, boolean repair, LedgerVerificationReportDTO report) {
+        List<MonthlyBalance> storedBalances = repair
+                ? monthlyBalanceRepository.findAndLockByUserIds(userIds)
+                : monthlyBalanceRepository.findByUserIds(userIds);
+
+        Map<MonthlyBalanceId, MonthlyBalance> ledger = storedBalances.stream()
+                .collect(Collectors.toMap(MonthlyBalance::getId, Function.identity(), (a, b) -> a, HashMap::new));
+
+        for (MonthlyTotals totals : transactionRepository.summarizeMonthlyByOwnerIds(userIds)) {
+            MonthlyBalanceId id = MonthlyBalanceId.of(
+                    totals.getUserId(),
+                    YearMonth.of(totals.getYear(), totals.getMonth()));
+
+            MonthlyBalance stored = ledger.remove(id);
+            report.setBalancesChecked(report.getBalancesChecked() + 1);
+
+            if (stored == null) {
+                report.setMissingBalances(report.getMissingBalances() + 1);
+                // A row seeded concurrently by a transaction write is left to the
+                // next verification
+                if (repair && insertBalance(id, totals) == 1) {
+                    evictBalance(id);
+                }
+            } else if (!matches(stored, totals)) {
+                report.setDriftedBalances(report.getDriftedBalances() + 1);
+                if (repair) {
+                    stored.setIncome(totals.getIncome());
+                    stored.setExpense(totals.getExpense());
+                    evictBalance(id);
+                }
+            }
+        }
+
+        // Rows left over belong to months that no longer have any transaction
+        for (MonthlyBalance stored : ledger.values()) {
+            report.setBalancesChecked(report.getBalancesChecked() + 1);
+
+            if (Math.abs(stored.getIncome()) > TOLERANCE || Math.abs(stored.getExpense()) > TOLERANCE) {
+                report.setDriftedBalances(report.getDriftedBalances() + 1);
+                if (repair) {
+                    monthlyBalanceRepository.delete(stored);
+                    evictBalance(stored.getId());
+                }
+            }
+        }
+    }
+
+    private int insertBalance(MonthlyBalanceId id, BalanceSummary totals) {
+        return monthlyBalanceRepository.insertIfAbsent(
+                id.getUserId(),
+                id.getYearMonth(),
+                totals.getIncome(),
+                totals.getExpense());
+    }
+
+    private void evictBalance(MonthlyBalanceId id) {
+        cacheEvictor.evictBalance(id.getUserId(), YearMonth.parse(id.getYearMonth()));
+    }
+
+    private boolean matches(BalanceSummary stored, BalanceSummary expected) {
+        return Math.abs(stored.getIncome() - expected.getIncome()) <= TOLERANCE
+                && Math.abs(stored.getExpense() - expected.getExpense()) <= TOLERANCE;
+    }
+
+    private BalanceSummary summarizeTransactions(UUID ownerId, YearMonth month) {
+        return transactionRepository.summarizeByOwnerIdAndCreatedAtBetween(
+                ownerId,
+                LocalDateTime.of(month.atDay(1), LocalTime.MIN),
+                LocalDateTime.of(month.atEndOfMonth(), LocalTime.MAX));
+    }
+}
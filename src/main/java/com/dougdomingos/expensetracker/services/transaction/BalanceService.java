@@ -1,8 +1,12 @@
 package com.dougdomingos.expensetracker.services.transaction;
 
+import java.time.YearMonth;
+
 import com.dougdomingos.expensetracker.dto.transaction.BalanceResponseDTO;
 
 public interface BalanceService {
 
     public BalanceResponseDTO getCurrentBalance();
+
+    public BalanceResponseDTO getBalance(YearMonth month);
 }
@@ -1,61 +1,69 @@
 package com.dougdomingos.expensetracker.services.transaction;
 
-import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.time.YearMonth;
-import java.util.Calendar;
-import java.util.List;
+import java.time.format.TextStyle;
 import java.util.Locale;
+import java.util.UUID;
 
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
-import com.dougdomingos.expensetracker.auth.AuthUtils;
+import com.dougdomingos.expensetracker.auth.AuthenticatedUser;
+import com.dougdomingos.expensetracker.config.CacheKeys;
+import com.dougdomingos.expensetracker.config.CacheNames;
 import com.dougdomingos.expensetracker.dto.transaction.BalanceResponseDTO;
-import com.dougdomingos.expensetracker.entities.transaction.Transaction;
-import com.dougdomingos.expensetracker.entities.user.User;
-import com.dougdomingos.expensetracker.repositories.TransactionRepository;
-import com.dougdomingos.expensetracker.repositories.UserRepository;
+import com.dougdomingos.expensetracker.repositories.projections.BalanceSummary;
+import com.dougdomingos.expensetracker.services.cache.CacheLookups;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class BalanceServiceImpl implements BalanceService {
 
-    private final UserRepository userRepository;
+    private final BalanceLedgerService balanceLedgerService;
 
-    private final TransactionRepository transactionRepository;
+    private final AuthenticatedUser authenticatedUser;
+
+    private final CacheManager cacheManager;
 
     @Override
+    @Timed("expensetracker.balance.current")
     public BalanceResponseDTO getCurrentBalance() {
+        return getBalance(YearMonth.now());
+    }
 
-        User currentUser = userRepository.findByUserId(AuthUtils.getAuthenticatedUserID());
-
-        String currentMonth = Calendar
-                .getInstance()
-                .getDisplayName(Calendar.MONTH, Calendar.LONG, Locale.getDefault());
+    /**
+     * Returns the balance of the current user in a month. Results are cached per
+     * user and month, and evicted by the ledger whenever that month changes.
+     */
+    @Override
+    @Timed("expensetracker.balance.month")
+    public BalanceResponseDTO getBalance(YearMonth month) {
+        UUID userId = authenticatedUser.getId();
+        Cache balances = cacheManager.getCache(CacheNames.BALANCES);
+
+        return CacheLookups.getOrCompute(
+                balances,
+                CacheKeys.balance(userId, month),
+                () -> computeBalance(userId, month));
+    }
 
-        List<Transaction> transactions = transactionRepository.findByOwnerAndCreatedAtBetween(
-                currentUser,
-                getFirstDateOfCurrentMonth(),
-                getLastDateOfCurrentMonth());
+    private BalanceResponseDTO computeBalance(UUID userId, YearMonth month) {
+        String monthName = month
+                .getMonth()
+                .getDisplayName(TextStyle.FULL, Locale.getDefault());
 
-        Double total = transactions.stream()
-                .mapToDouble(Transaction::getAmount)
-                .sum();
+        BalanceSummary summary = balanceLedgerService.getMonthlyTotals(userId, month);
 
         return BalanceResponseDTO.builder()
-                .balance(total)
-                .currentMonth(currentMonth)
+                .balance(summary.getIncome() + summary.getExpense())
+                .income(summary.getIncome())
+                .expense(summary.getExpense())
+                .currentMonth(monthName)
                 .build();
     }
 
-    private LocalDateTime getFirstDateOfCurrentMonth() {
-        return LocalDateTime.of(YearMonth.now().atDay(1), LocalTime.MIN);
-    }
-
-    private LocalDateTime getLastDateOfCurrentMonth() {
-        return LocalDateTime.of(YearMonth.now().atEndOfMonth(), LocalTime.MAX);
-    }
-
 }
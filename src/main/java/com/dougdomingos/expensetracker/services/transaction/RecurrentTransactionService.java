@@ -1,6 +1,10 @@
 package com.dougdomingos.expensetracker.services.transaction;
 
+import java.util.List;
+
 public interface RecurrentTransactionService {
 
     public void updateRecurrentTransactionsOnDB();
+
+    public List<RolloverPartitionReport> updateRecurrentTransactionsPartitioned(int partitions);
 }
@@ -1,41 +1,478 @@
 package com.dougdomingos.expensetracker.services.transaction;
 
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
-import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import com.dougdomingos.expensetracker.entities.transaction.Transaction;
+import com.dougdomingos.expensetracker.entities.job.JobCheckpoint;
+import com.dougdomingos.expensetracker.entities.transaction.TransactionType;
+import com.dougdomingos.expensetracker.repositories.JobCheckpointRepository;
 import com.dougdomingos.expensetracker.repositories.TransactionRepository;
+import com.dougdomingos.expensetracker.services.job.JobLeaseService;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class RecurrentTransactionServiceImpl implements RecurrentTransactionService {
 
+    private static final String JOB_NAME = "recurrent-transactions-rollover";
+
+    private static final String RECURRENT_IN_RANGE = """
+            is_recurrent = TRUE
+              AND transaction_id > :lowerBoundId AND transaction_id <= :upperBoundId
+            """;
+
+    private static final String OWNER_FILTER = " AND user_id IN (:ownerIds)";
+
+    private static final String OWNERLESS_FILTER = " AND user_id IS NULL";
+
+    private static final String SELECT_CHUNK_SQL = """
+            SELECT transaction_id, transaction_type, amount, title, description, user_id
+            FROM transaction
+            WHERE %s
+            ORDER BY transaction_id
+            LIMIT :chunkSize
+            """;
+
+    private static final String INSERT_CLONE_SQL = """
+            INSERT INTO transaction
+              (transaction_type, is_recurrent, amount, title, description, created_at, user_id)
+            VALUES (:type, TRUE, :amount, :title, :description, :createdAt, :ownerId)
+            """;
+
+    private static final String CLOSE_CHUNK_SQL = """
+            UPDATE transaction SET is_recurrent = FALSE
+            WHERE transaction_id IN (:rolledOverIds)
+            """;
+
+    private static final String SELECT_OWNERS_SQL = """
+            SELECT DISTINCT user_id FROM transaction
+            WHERE is_recurrent = TRUE AND transaction_id <= :upperBoundId AND user_id IS NOT NULL
+            """;
+
+    /**
+     * Number of users whose transactions are selected together by a partition
+     * worker, which keeps the {@code IN} lists short.
+     */
+    private static final int OWNERS_PER_BATCH = 100;
+
     private final TransactionRepository transactionRepository;
 
-    private final ModelMapper mapper;
+    private final JobCheckpointRepository checkpointRepository;
+
+    private final BalanceLedgerService balanceLedgerService;
+
+    private final JobLeaseService jobLeaseService;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate chunkTransaction;
 
+    private final TaskExecutor rolloverExecutor;
+
+    private final int chunkSize;
+
+    private final int partitions;
+
+    private final Timer rolloverTimer;
+
+    private final Counter rolledOverRows;
+
+    public RecurrentTransactionServiceImpl(
+            TransactionRepository transactionRepository,
+            JobCheckpointRepository checkpointRepository,
+            BalanceLedgerService balanceLedgerService,
+            JobLeaseService jobLeaseService,
+            NamedParameterJdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("rolloverExecutor") TaskExecutor rolloverExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${expensetracker.recurrence.chunk-size:500}") int chunkSize,
+            @Value("${expensetracker.recurrence.partitions:1}") int partitions) {
+
+        this.transactionRepository = transactionRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.balanceLedgerService = balanceLedgerService;
+        this.jobLeaseService = jobLeaseService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.rolloverExecutor = rolloverExecutor;
+        this.chunkSize = chunkSize;
+        this.partitions = partitions;
+
+        // Registered programmatically, since the scheduled runs are self-invocations
+        // that annotation-based timers would miss
+        this.rolloverTimer = Timer.builder("expensetracker.recurrence.rollover")
+                .description("Duration of the recurrent transactions rollover")
+                .register(meterRegistry);
+        this.rolledOverRows = Counter.builder("expensetracker.recurrence.rows")
+                .description("Recurrent transactions rolled over")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rolls every recurrent transaction over to the current month: a recurrent
+     * copy is inserted and the original stops being recurrent. Runs partitioned
+     * when more than one partition is configured, sequentially otherwise. An
+     * unfinished run of a previous month is finished first, and a month that
+     * was already rolled over is skipped.
+     */
     @Override
-    @Scheduled(cron = "0 0 0 1 * *")
     public void updateRecurrentTransactionsOnDB() {
-        List<Transaction> recurrentTransactions = transactionRepository
-                .findByIsRecurrentTrue();
+        rolloverTimer.record(this::rollOverAll);
+    }
+
+    private void rollOverAll() {
+        if (partitions > 1) {
+            updateRecurrentTransactionsPartitioned(partitions);
+            return;
+        }
+
+        JobCheckpoint checkpoint;
+        while ((checkpoint = chunkTransaction.execute((status) -> startOrResumeRun())) != null) {
+            rollOverRun(checkpoint);
+        }
+    }
+
+    private void rollOverRun(JobCheckpoint checkpoint) {
+        int processedRows;
+        do {
+            jobLeaseService.renewLease(JOB_NAME);
+            processedRows = chunkTransaction.execute((status) -> processNextChunk());
+        } while (processedRows > 0);
+
+        chunkTransaction.executeWithoutResult((status) -> {
+            JobCheckpoint finished = checkpointRepository.getReferenceById(JOB_NAME);
+            finished.setCompleted(true);
+            finished.setFinishedAt(LocalDateTime.now());
+
+            log.info("Recurrent transactions rollover of {} finished: {} rows up to ID {} (started at {})",
+                    finished.getTargetMonth(), finished.getProcessedRows(), checkpoint.getUpperBoundId(),
+                    checkpoint.getStartedAt());
+        });
+    }
+
+    /**
+     * Monthly rollover, run by a single node of the cluster. The lease is
+     * renewed before every chunk, so a long run keeps it.
+     */
+    @Scheduled(cron = "0 0 0 1 * *")
+    public void scheduledRollover() {
+        jobLeaseService.runExclusively(JOB_NAME, this::updateRecurrentTransactionsOnDB);
+    }
+
+    /**
+     * Finishes a rollover left unfinished by a failed partition or by a node
+     * that died while holding the lease, once that lease has expired.
+     */
+    @Scheduled(cron = "${expensetracker.recurrence.resume-cron:0 15 * * * *}")
+    public void resumeUnfinishedRollover() {
+        boolean unfinished = checkpointRepository.findById(JOB_NAME)
+                .filter((checkpoint) -> !checkpoint.isCompleted())
+                .isPresent();
+
+        if (unfinished) {
+            jobLeaseService.runExclusively(JOB_NAME, this::updateRecurrentTransactionsOnDB);
+        }
+    }
+
+    /**
+     * Splits the owners of recurrent transactions into partitions by the hash of
+     * their ID and rolls every partition over on its own worker, committing
+     * chunk by chunk. Transactions without an owner go to the first partition.
+     * If any partition fails, the run stays unfinished and the
+     * next invocation picks up whatever is left, since rolled over transactions
+     * are no longer recurrent and their copies are above the run bound.
+     */
+    @Override
+    public List<RolloverPartitionReport> updateRecurrentTransactionsPartitioned(int partitionCount) {
+        List<RolloverPartitionReport> reports = new ArrayList<>();
+
+        JobCheckpoint checkpoint;
+        while ((checkpoint = chunkTransaction.execute((status) -> startOrResumeRun())) != null) {
+            List<RolloverPartitionReport> runReports = rollOverRunPartitioned(checkpoint, partitionCount);
+            reports.addAll(runReports);
+
+            if (runReports.stream().anyMatch(RolloverPartitionReport::isFailed)) {
+                break;
+            }
+        }
+
+        return reports;
+    }
+
+    private List<RolloverPartitionReport> rollOverRunPartitioned(JobCheckpoint checkpoint, int partitionCount) {
+        Long upperBoundId = checkpoint.getUpperBoundId();
+        String targetMonth = checkpoint.getTargetMonth();
+
+        List<List<UUID>> ownersByPartition = new ArrayList<>();
+        for (int i = 0; i < partitionCount; i++) {
+            ownersByPartition.add(new ArrayList<>());
+        }
 
-        for (Transaction transaction : recurrentTransactions) {
-            Transaction newTransaction = new Transaction();
-            mapper.map(transaction, newTransaction);
+        jdbcTemplate.query(SELECT_OWNERS_SQL, Map.of("upperBoundId", upperBoundId), (rs) -> {
+            UUID ownerId = rs.getObject("user_id", UUID.class);
+            ownersByPartition.get(Math.floorMod(ownerId.hashCode(), partitionCount)).add(ownerId);
+        });
 
-            transaction.setRecurrent(false);
-            newTransaction.setTransactionId(null);
-            newTransaction.setCreatedAt(LocalDateTime.now());
+        List<CompletableFuture<RolloverPartitionReport>> workers = new ArrayList<>();
+        for (int i = 0; i < partitionCount; i++) {
+            int partition = i;
+            workers.add(CompletableFuture.supplyAsync(
+                    () -> rollOverPartition(partition, ownersByPartition.get(partition), upperBoundId, targetMonth),
+                    rolloverExecutor));
+        }
+
+        List<RolloverPartitionReport> reports = workers.stream()
+                .map(CompletableFuture::join)
+                .toList();
+
+        long totalRows = reports.stream().mapToLong(RolloverPartitionReport::getRows).sum();
+        boolean failed = reports.stream().anyMatch(RolloverPartitionReport::isFailed);
+
+        chunkTransaction.executeWithoutResult((status) -> {
+            JobCheckpoint finished = checkpointRepository.getReferenceById(JOB_NAME);
+            finished.setProcessedRows(finished.getProcessedRows() + totalRows);
+
+            if (!failed) {
+                finished.setLastProcessedId(upperBoundId);
+                finished.setCompleted(true);
+                finished.setFinishedAt(LocalDateTime.now());
+            }
+        });
+
+        log.info("Partitioned recurrent transactions rollover of {} {}: {} rows in {} partitions up to ID {}",
+                targetMonth, failed ? "left unfinished" : "finished", totalRows, partitionCount, upperBoundId);
+
+        return reports;
+    }
+
+    /**
+     * Resumes the unfinished run, if any, whatever month it was started for.
+     * Otherwise, starts a new run of the current month bounded by the current
+     * highest recurrent transaction ID, unless that month was rolled over.
+     *
+     * @return The run to process, or {@code null} if the current month was
+     *         already rolled over
+     */
+    private JobCheckpoint startOrResumeRun() {
+        JobCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME).orElse(null);
+        String currentMonth = YearMonth.now().toString();
+
+        if (checkpoint != null && !checkpoint.isCompleted()) {
+            log.info("Resuming recurrent transactions rollover of {} after ID {}",
+                    checkpoint.getTargetMonth(), checkpoint.getLastProcessedId());
+            return checkpoint;
+        }
+
+        if (checkpoint != null && currentMonth.equals(checkpoint.getTargetMonth())) {
+            log.debug("Skipping recurrent transactions rollover: {} was already rolled over", currentMonth);
+            return null;
+        }
+
+        Long upperBoundId = transactionRepository.findMaxRecurrentTransactionId();
+
+        return checkpointRepository.save(JobCheckpoint.builder()
+                .jobName(JOB_NAME)
+                .targetMonth(currentMonth)
+                .upperBoundId(upperBoundId == null ? 0L : upperBoundId)
+                .lastProcessedId(0L)
+                .startedAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Rolls over the next chunk of recurrent transactions and advances the
+     * checkpoint, all in the current DB transaction.
+     *
+     * @return The number of rolled over transactions; zero when the run is over
+     */
+    private int processNextChunk() {
+        JobCheckpoint checkpoint = checkpointRepository.getReferenceById(JOB_NAME);
+
+        List<Long> rolledOverIds = rollOverChunk(
+                checkpoint.getLastProcessedId(),
+                checkpoint.getUpperBoundId(),
+                "",
+                null,
+                checkpoint.getTargetMonth());
+
+        if (!rolledOverIds.isEmpty()) {
+            checkpoint.setLastProcessedId(rolledOverIds.get(rolledOverIds.size() - 1));
+            checkpoint.setProcessedRows(checkpoint.getProcessedRows() + rolledOverIds.size());
+        }
+
+        return rolledOverIds.size();
+    }
+
+    /**
+     * Rolls over the recurrent transactions of one partition, one chunk per DB
+     * transaction, along with the ownerless ones if it is the first partition.
+     * Failures are reported rather than thrown, so the remaining partitions keep
+     * running.
+     */
+    private RolloverPartitionReport rollOverPartition(
+            int partition, List<UUID> ownerIds, Long upperBoundId, String targetMonth) {
+        long startTime = System.currentTimeMillis();
+        long rows = 0;
+        String error = null;
+
+        try {
+            for (int from = 0; from < ownerIds.size(); from += OWNERS_PER_BATCH) {
+                List<UUID> owners = ownerIds.subList(from, Math.min(from + OWNERS_PER_BATCH, ownerIds.size()));
+                rows += rollOverRange(upperBoundId, OWNER_FILTER, owners, targetMonth);
+            }
+
+            if (partition == 0) {
+                rows += rollOverRange(upperBoundId, OWNERLESS_FILTER, null, targetMonth);
+            }
+        } catch (RuntimeException e) {
+            log.error("Partition {} of the recurrent transactions rollover failed", partition, e);
+            error = e.getMessage();
+        }
+
+        RolloverPartitionReport report = RolloverPartitionReport.builder()
+                .partition(partition)
+                .users(ownerIds.size())
+                .rows(rows)
+                .elapsedMillis(System.currentTimeMillis() - startTime)
+                .error(error)
+                .build();
+
+        log.info("Rollover partition {}: {} users, {} rows in {} ms ({} rows/s){}",
+                partition, report.getUsers(), report.getRows(), report.getElapsedMillis(),
+                String.format("%.1f", report.getRowsPerSecond()),
+                report.isFailed() ? ", failed: " + error : "");
+
+        return report;
+    }
+
+    /**
+     * Rolls over every recurrent transaction up to the given ID that matches the
+     * owner filter, one chunk per DB transaction.
+     *
+     * @return The number of rolled over transactions
+     */
+    private long rollOverRange(Long upperBoundId, String ownerFilter, List<UUID> ownerIds, String targetMonth) {
+        long rows = 0;
+        long lastId = 0L;
+        List<Long> rolledOverIds;
+
+        do {
+            jobLeaseService.renewLease(JOB_NAME);
+
+            long lowerBoundId = lastId;
+            rolledOverIds = chunkTransaction.execute(
+                    (status) -> rollOverChunk(lowerBoundId, upperBoundId, ownerFilter, ownerIds, targetMonth));
+
+            if (!rolledOverIds.isEmpty()) {
+                lastId = rolledOverIds.get(rolledOverIds.size() - 1);
+                rows += rolledOverIds.size();
+            }
+        } while (rolledOverIds.size() == chunkSize);
+
+        return rows;
+    }
+
+    /**
+     * Rolls over the next chunk of recurrent transactions in the given ID range
+     * that match the owner filter ({@link #OWNER_FILTER},
+     * {@link #OWNERLESS_FILTER} or none), in the current DB transaction. The
+     * copies are inserted with a JDBC batch, the originals are closed with a
+     * single update and the balance ledger gets one delta per owner.
+     *
+     * @return The IDs of the rolled over transactions, in ascending order
+     */
+    private List<Long> rollOverChunk(
+            Long lowerBoundId, Long upperBoundId, String ownerFilter, List<UUID> ownerIds, String targetMonth) {
+        String filter = RECURRENT_IN_RANGE + ownerFilter;
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("lowerBoundId", lowerBoundId)
+                .addValue("upperBoundId", upperBoundId)
+                .addValue("ownerIds", ownerIds)
+                .addValue("chunkSize", chunkSize);
+
+        LocalDateTime createdAt = copiesCreatedAt(targetMonth);
+        Map<UUID, Double> incomeByOwner = new HashMap<>();
+        Map<UUID, Double> expenseByOwner = new HashMap<>();
+        List<Long> rolledOverIds = new ArrayList<>();
+
+        List<MapSqlParameterSource> clones = jdbcTemplate.query(
+                String.format(SELECT_CHUNK_SQL, filter),
+                params,
+                (rs, rowNum) -> {
+                    TransactionType type = TransactionType.valueOf(rs.getString("transaction_type"));
+                    double amount = rs.getDouble("amount");
+                    UUID ownerId = rs.getObject("user_id", UUID.class);
+
+                    if (ownerId != null) {
+                        (TransactionType.INCOME.equals(type) ? incomeByOwner : expenseByOwner)
+                                .merge(ownerId, amount, Double::sum);
+                    }
+
+                    rolledOverIds.add(rs.getLong("transaction_id"));
+
+                    return new MapSqlParameterSource()
+                            .addValue("type", type.name())
+                            .addValue("amount", amount)
+                            .addValue("title", rs.getString("title"))
+                            .addValue("description", rs.getString("description"))
+                            .addValue("createdAt", createdAt)
+                            .addValue("ownerId", ownerId);
+                });
+
+        if (clones.isEmpty()) {
+            return rolledOverIds;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_CLONE_SQL, clones.toArray(MapSqlParameterSource[]::new));
+        // Closes the copied rows only: others may have become recurrent meanwhile
+        jdbcTemplate.update(CLOSE_CHUNK_SQL, new MapSqlParameterSource("rolledOverIds", rolledOverIds));
+        rolledOverRows.increment(rolledOverIds.size());
+
+        Set<UUID> owners = new HashSet<>(incomeByOwner.keySet());
+        owners.addAll(expenseByOwner.keySet());
+        owners.forEach((ownerId) -> balanceLedgerService.recordTransactionChange(
+                ownerId,
+                createdAt,
+                incomeByOwner.getOrDefault(ownerId, 0.0),
+                expenseByOwner.getOrDefault(ownerId, 0.0)));
+
+        return rolledOverIds;
+    }
 
-            transactionRepository.saveAll(List.of(transaction, newTransaction));
+    /**
+     * Creation time of the copies made by a run of the given month: the current
+     * time, or the start of the month when finishing a run of a month that is
+     * over, so the copies still land in that month's balance.
+     */
+    private static LocalDateTime copiesCreatedAt(String targetMonth) {
+        if (targetMonth == null || YearMonth.now().toString().equals(targetMonth)) {
+            return LocalDateTime.now();
         }
 
+        return YearMonth.parse(targetMonth).atDay(1).atStartOfDay();
     }
 }
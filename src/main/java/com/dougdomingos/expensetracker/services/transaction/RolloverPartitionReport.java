@@ -0,0 +1,34 @@
+package com.dougdomingos.expensetracker.services.transaction;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one partition of a partitioned recurrent transactions rollover.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RolloverPartitionReport {
+
+    private int partition;
+
+    private int users;
+
+    private long rows;
+
+    private long elapsedMillis;
+
+    private String error;
+
+    public boolean isFailed() {
+        return error != null;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedMillis == 0 ? rows : rows * 1000.0 / elapsedMillis;
+    }
+}
@@ -1,8 +1,8 @@
 package com.dougdomingos.expensetracker.services.transaction;
 
-import java.util.List;
-
 import com.dougdomingos.expensetracker.dto.transaction.CreateTransactionDTO;
+import com.dougdomingos.expensetracker.dto.transaction.EditTransactionDTO;
+import com.dougdomingos.expensetracker.dto.transaction.TransactionPageResponseDTO;
 import com.dougdomingos.expensetracker.dto.transaction.TransactionResponseDTO;
 
 public interface TransactionService {
@@ -11,9 +11,9 @@ public interface TransactionService {
 
     TransactionResponseDTO getTransaction(Long id);
 
-    List<TransactionResponseDTO> listTransactions(String type);
+    TransactionPageResponseDTO listTransactions(String type, String cursor, int limit);
 
-    TransactionResponseDTO editTransaction(Long id, Object transactionDTO);
+    TransactionResponseDTO editTransaction(Long id, EditTransactionDTO transactionDTO);
 
     void removeTransaction(Long id);
 }
@@ -1,22 +1,28 @@
 package com.dougdomingos.expensetracker.services.transaction;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.UUID;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 
-import com.dougdomingos.expensetracker.auth.AuthUtils;
+import com.dougdomingos.expensetracker.auth.AuthenticatedUser;
 import com.dougdomingos.expensetracker.dto.transaction.CreateTransactionDTO;
+import com.dougdomingos.expensetracker.dto.transaction.EditTransactionDTO;
+import com.dougdomingos.expensetracker.dto.transaction.TransactionPageResponseDTO;
 import com.dougdomingos.expensetracker.dto.transaction.TransactionResponseDTO;
 import com.dougdomingos.expensetracker.entities.transaction.Transaction;
 import com.dougdomingos.expensetracker.entities.transaction.TransactionType;
 import com.dougdomingos.expensetracker.entities.user.User;
 import com.dougdomingos.expensetracker.exceptions.transaction.InvalidTransactionTypeException;
+import com.dougdomingos.expensetracker.mappers.TransactionMapper;
+import com.dougdomingos.expensetracker.repositories.CategoryRepository;
 import com.dougdomingos.expensetracker.repositories.TransactionRepository;
-import com.dougdomingos.expensetracker.repositories.UserRepository;
+import com.dougdomingos.expensetracker.services.cache.UserDataCacheEvictor;
 import com.dougdomingos.expensetracker.utils.EntityAccessUtils;
+import com.dougdomingos.expensetracker.utils.TransactionPages;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -25,17 +31,23 @@ public class TransactionServiceImpl implements TransactionService {
 
     private final TransactionRepository transactionRepository;
 
-    private final UserRepository userRepository;
+    private final CategoryRepository categoryRepository;
+
+    private final AuthenticatedUser authenticatedUser;
+
+    private final BalanceLedgerService balanceLedgerService;
 
     private final EntityAccessUtils entityAccessUtils;
 
-    private final ModelMapper mapper;
+    private final UserDataCacheEvictor cacheEvictor;
 
     @Override
+    @Transactional
+    @Timed("expensetracker.transactions.create")
     public TransactionResponseDTO createTransaction(CreateTransactionDTO transactionDTO) {
 
-        User transactionOwner = userRepository.findByUserId(AuthUtils.getAuthenticatedUserID());
-        Transaction newTransaction = mapper.map(transactionDTO, Transaction.class);
+        User transactionOwner = authenticatedUser.getReference();
+        Transaction newTransaction = TransactionMapper.toEntity(transactionDTO);
 
         Double absAmount = Math.abs(newTransaction.getAmount());
         if (newTransaction.getTransactionType().equals(TransactionType.EXPENSE)) {
@@ -46,49 +58,101 @@ public class TransactionServiceImpl implements TransactionService {
         newTransaction.setOwner(transactionOwner);
 
         transactionRepository.save(newTransaction);
-        return mapper.map(newTransaction, TransactionResponseDTO.class);
+        balanceLedgerService.recordTransactionChange(
+                transactionOwner.getUserId(),
+                newTransaction.getCreatedAt(),
+                newTransaction.getTransactionType(),
+                newTransaction.getAmount());
+
+        return TransactionMapper.toResponse(newTransaction);
     }
 
     @Override
-    public TransactionResponseDTO editTransaction(Long id, Object transactionDTO) {
+    @Transactional
+    public TransactionResponseDTO editTransaction(Long id, EditTransactionDTO transactionDTO) {
+        // Locked before reading, so the delta reaches the category the
+        // transaction belongs to when it is written
+        transactionRepository.lockByIds(List.of(id));
         Transaction transaction = entityAccessUtils.fetchUserTransaction(id);
+        Double previousAmount = transaction.getAmount();
 
-        mapper.map(transactionDTO, transaction);
+        TransactionMapper.updateEntity(transactionDTO, transaction);
         transactionRepository.save(transaction);
 
-        return mapper.map(transaction, TransactionResponseDTO.class);
+        Double amountDelta = transaction.getAmount() - previousAmount;
+        balanceLedgerService.recordTransactionChange(
+                transaction.getOwner().getUserId(),
+                transaction.getCreatedAt(),
+                transaction.getTransactionType(),
+                amountDelta);
+
+        if (categoryRepository.addToCategoryOf(id, amountDelta) > 0) {
+            cacheEvictor.evictCategorySummaries(transaction.getOwner().getUserId());
+        }
+
+        return TransactionMapper.toResponse(transaction);
     }
 
     @Override
     public TransactionResponseDTO getTransaction(Long id) {
         Transaction transaction = entityAccessUtils.fetchUserTransaction(id);
-        return mapper.map(transaction, TransactionResponseDTO.class);
+        return TransactionMapper.toResponse(transaction);
     }
 
     @Override
-    public List<TransactionResponseDTO> listTransactions(String type) {
-        List<Transaction> transactions;
-        User currentUser = userRepository.findByUserId(AuthUtils.getAuthenticatedUserID());
-
-        if (type == null || type.isBlank()) {
-            transactions = transactionRepository.findByOwner(currentUser);
-        } else if (TransactionType.isTypeDefined(type)) {
-            transactions = transactionRepository.findByOwnerAndTransactionType(
-                    currentUser,
-                    TransactionType.valueOf(type.toUpperCase()));
-        } else {
-            throw new InvalidTransactionTypeException();
-        }
-
-        return transactions.stream()
-                .map((transaction) -> mapper.map(transaction, TransactionResponseDTO.class))
-                .collect(Collectors.toList());
+    @Timed("expensetracker.transactions.list")
+    public TransactionPageResponseDTO listTransactions(String type, String cursor, int limit) {
+        UUID currentUserId = authenticatedUser.getId();
+        TransactionType transactionType = parseTransactionType(type);
+
+        return TransactionPages.fetch(
+                cursor,
+                limit,
+                (pageable) -> transactionRepository.findFirstPageByOwnerId(
+                        currentUserId,
+                        transactionType,
+                        pageable),
+                (position, pageable) -> transactionRepository.findPageByOwnerIdAfter(
+                        currentUserId,
+                        transactionType,
+                        position.getCreatedAt(),
+                        position.getTransactionId(),
+                        pageable));
     }
 
     @Override
+    @Transactional
     public void removeTransaction(Long id) {
+        transactionRepository.lockByIds(List.of(id));
         Transaction transaction = entityAccessUtils.fetchUserTransaction(id);
+        categoryRepository.subtractFromCategory(id);
         transactionRepository.delete(transaction);
+        balanceLedgerService.recordTransactionChange(
+                transaction.getOwner().getUserId(),
+                transaction.getCreatedAt(),
+                transaction.getTransactionType(),
+                -transaction.getAmount());
+
+        cacheEvictor.evictCategorySummaries(transaction.getOwner().getUserId());
+    }
+
+    /**
+     * Converts the type filter of a listing into a transaction type.
+     * 
+     * @param type The type filter, as sent by the client
+     * @throws InvalidTransactionTypeException Thrown if the type does not exist
+     * @return The transaction type, or {@code null} if no filter was specified
+     */
+    private TransactionType parseTransactionType(String type) throws InvalidTransactionTypeException {
+        if (type == null || type.isBlank()) {
+            return null;
+        }
+
+        if (!TransactionType.isTypeDefined(type)) {
+            throw new InvalidTransactionTypeException();
+        }
+
+        return TransactionType.valueOf(type.toUpperCase());
     }
 
 }
@@ -0,0 +1,10 @@
+package com.dougdomingos.expensetracker.services.user;
+
+public interface PasswordHashingService {
+
+    String encode(String rawPassword);
+
+    boolean matches(String rawPassword, String encodedPassword);
+
+    boolean upgradeEncoding(String encodedPassword);
+}
@@ -0,0 +1,102 @@
+package com.dougdomingos.expensetracker.services.user;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.dougdomingos.expensetracker.exceptions.user.PasswordHashingUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Runs the password encoder on the bounded hashing executor, so a burst of
+ * logins or sign ups only competes for its workers and never for the threads
+ * serving the other endpoints. Requests arriving while the executor queue is
+ * full fail fast with {@link PasswordHashingUnavailableException}.
+ */
+@Service
+public class PasswordHashingServiceImpl implements PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final ThreadPoolTaskExecutor executor;
+
+    private final Timer encodeTimer;
+
+    private final Timer matchesTimer;
+
+    private final Counter rejections;
+
+    public PasswordHashingServiceImpl(
+            PasswordEncoder passwordEncoder,
+            @Qualifier("passwordHashingExecutor") ThreadPoolTaskExecutor executor,
+            MeterRegistry meterRegistry) {
+
+        this.passwordEncoder = passwordEncoder;
+        this.executor = executor;
+        this.encodeTimer = Timer.builder("expensetracker.password.hash")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("expensetracker.password.hash")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("expensetracker.password.hash.rejected")
+                .register(meterRegistry);
+
+        Gauge.builder("expensetracker.password.hash.queued", executor, ThreadPoolTaskExecutor::getQueueSize)
+                .register(meterRegistry);
+        Gauge.builder("expensetracker.password.hash.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(String rawPassword) {
+        return execute(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return execute(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Tells whether a stored hash should be replaced, because it was made with
+     * another encoder or cost. Only parses the hash, so it runs on the caller.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T execute(Timer timer, Supplier<T> task) {
+        Future<T> result;
+        try {
+            result = executor.submit(() -> timer.record(task));
+        } catch (TaskRejectedException e) {
+            rejections.increment();
+            throw new PasswordHashingUnavailableException();
+        }
+
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
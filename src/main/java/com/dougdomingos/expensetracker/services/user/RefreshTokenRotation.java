@@ -0,0 +1,10 @@
+package com.dougdomingos.expensetracker.services.user;
+
+import java.util.UUID;
+
+/**
+ * Outcome of trading a refresh token: the user it was issued to and the refresh
+ * token replacing it.
+ */
+public record RefreshTokenRotation(UUID userId, String refreshToken) {
+}
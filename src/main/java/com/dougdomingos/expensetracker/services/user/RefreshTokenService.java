@@ -0,0 +1,14 @@
+package com.dougdomingos.expensetracker.services.user;
+
+import java.util.UUID;
+
+public interface RefreshTokenService {
+
+    String issueToken(UUID userId);
+
+    RefreshTokenRotation rotateToken(String refreshToken);
+
+    void revokeToken(String refreshToken);
+
+    long getExpiresIn();
+}
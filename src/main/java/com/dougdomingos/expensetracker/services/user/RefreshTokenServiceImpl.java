@@ -0,0 +1,128 @@
+package com.dougdomingos.expensetracker.services.user;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.dougdomingos.expensetracker.auth.TokenHashes;
+import com.dougdomingos.expensetracker.entities.auth.RefreshToken;
+import com.dougdomingos.expensetracker.exceptions.user.RefreshTokenInvalidException;
+import com.dougdomingos.expensetracker.repositories.RefreshTokenRepository;
+import com.dougdomingos.expensetracker.services.job.JobLeaseService;
+
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Issues and rotates refresh tokens. A refresh token is 256 random bits, of
+ * which only the SHA-256 hash is stored, so trading one costs an indexed lookup
+ * instead of a password hash. Tokens are single use: presenting a token that
+ * was already traded means it leaked, and revokes every token of its family.
+ */
+@Slf4j
+@Service
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final String PURGE_JOB_NAME = "refresh-token-purge";
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokens;
+
+    private final JobLeaseService jobLeaseService;
+
+    private final Duration tokenTtl;
+
+    public RefreshTokenServiceImpl(
+            RefreshTokenRepository refreshTokens,
+            JobLeaseService jobLeaseService,
+            @Value("${expensetracker.jwt.refresh-token-ttl:P14D}") Duration tokenTtl) {
+
+        this.refreshTokens = refreshTokens;
+        this.jobLeaseService = jobLeaseService;
+        this.tokenTtl = tokenTtl;
+    }
+
+    /**
+     * Issues the first refresh token of a new family, on login or sign up.
+     */
+    @Override
+    @Transactional
+    public String issueToken(UUID userId) {
+        return issueToken(userId, UUID.randomUUID());
+    }
+
+    /**
+     * Trades a refresh token for a new one of the same family. The exchange is
+     * kept even though an invalid token fails it, so that revoking the family
+     * of a reused token is not rolled back.
+     */
+    @Override
+    @Transactional(dontRollbackOn = RefreshTokenInvalidException.class)
+    public RefreshTokenRotation rotateToken(String refreshToken) {
+        String tokenHash = TokenHashes.sha256(refreshToken);
+        LocalDateTime now = LocalDateTime.now();
+
+        if (refreshTokens.markUsed(tokenHash, now) == 1) {
+            RefreshToken used = refreshTokens.findById(tokenHash).orElseThrow(RefreshTokenInvalidException::new);
+            return new RefreshTokenRotation(used.getUserId(), issueToken(used.getUserId(), used.getFamilyId()));
+        }
+
+        refreshTokens.findById(tokenHash)
+                .filter((token) -> token.getUsedAt() != null && token.getRevokedAt() == null)
+                .ifPresent((token) -> {
+                    refreshTokens.revokeFamily(token.getFamilyId(), now);
+                    log.warn("Refresh token reused for user {}, revoked its family {}",
+                            token.getUserId(), token.getFamilyId());
+                });
+
+        throw new RefreshTokenInvalidException();
+    }
+
+    /**
+     * Revokes the family of a refresh token, i.e. logs out the session it was
+     * issued to. Unknown tokens are ignored.
+     */
+    @Override
+    @Transactional
+    public void revokeToken(String refreshToken) {
+        refreshTokens.findById(TokenHashes.sha256(refreshToken))
+                .ifPresent((token) -> refreshTokens.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+    }
+
+    @Override
+    public long getExpiresIn() {
+        return tokenTtl.toSeconds();
+    }
+
+    @Scheduled(cron = "${expensetracker.jwt.refresh-token-purge-cron:0 45 3 * * *}")
+    public void scheduledPurge() {
+        jobLeaseService.runExclusively(PURGE_JOB_NAME, () -> {
+            int purged = refreshTokens.deleteExpired(LocalDateTime.now());
+            log.info("Purged {} expired refresh tokens", purged);
+        });
+    }
+
+    private String issueToken(UUID userId, UUID familyId) {
+        byte[] tokenBytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(tokenBytes);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(tokenBytes);
+
+        refreshTokens.save(RefreshToken.builder()
+                .tokenHash(TokenHashes.sha256(refreshToken))
+                .userId(userId)
+                .familyId(familyId)
+                .expiresAt(LocalDateTime.now().plus(tokenTtl))
+                .build());
+
+        return refreshToken;
+    }
+}
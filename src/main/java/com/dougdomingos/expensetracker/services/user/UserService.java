@@ -5,6 +5,7 @@ import java.util.List;
 import com.dougdomingos.expensetracker.dto.user.CreateNewUserDTO;
 import com.dougdomingos.expensetracker.dto.user.LoginRequestDTO;
 import com.dougdomingos.expensetracker.dto.user.LoginResponseDTO;
+import com.dougdomingos.expensetracker.dto.user.RefreshTokenRequestDTO;
 import com.dougdomingos.expensetracker.dto.user.UserResponseDTO;
 
 public interface UserService {
@@ -13,5 +14,9 @@ public interface UserService {
 
     LoginResponseDTO login(LoginRequestDTO loginDTO);
 
+    LoginResponseDTO refreshToken(RefreshTokenRequestDTO refreshDTO);
+
+    void revokeToken(RefreshTokenRequestDTO refreshDTO);
+
     List<UserResponseDTO> listUsers();
 }
@@ -4,26 +4,31 @@ import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-import org.modelmapper.ModelMapper;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.dougdomingos.expensetracker.auth.TokenGenerator;
 import com.dougdomingos.expensetracker.dto.user.CreateNewUserDTO;
 import com.dougdomingos.expensetracker.dto.user.LoginRequestDTO;
 import com.dougdomingos.expensetracker.dto.user.LoginResponseDTO;
+import com.dougdomingos.expensetracker.dto.user.RefreshTokenRequestDTO;
 import com.dougdomingos.expensetracker.dto.user.UserResponseDTO;
 import com.dougdomingos.expensetracker.entities.user.Role;
 import com.dougdomingos.expensetracker.entities.user.User;
+import com.dougdomingos.expensetracker.exceptions.user.PasswordHashingUnavailableException;
 import com.dougdomingos.expensetracker.exceptions.user.PasswordInvalidException;
+import com.dougdomingos.expensetracker.exceptions.user.RefreshTokenInvalidException;
 import com.dougdomingos.expensetracker.exceptions.user.RoleNotFoundException;
 import com.dougdomingos.expensetracker.exceptions.user.UserNotFoundException;
 import com.dougdomingos.expensetracker.exceptions.user.UsernameAlreadyExistsException;
+import com.dougdomingos.expensetracker.mappers.UserMapper;
 import com.dougdomingos.expensetracker.repositories.RolesRepository;
 import com.dougdomingos.expensetracker.repositories.UserRepository;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
@@ -34,9 +39,9 @@ public class UserServiceImpl implements UserService {
 
     private final TokenGenerator tokenGenerator;
 
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
 
-    private final ModelMapper mapper;
+    private final RefreshTokenService refreshTokenService;
 
     private final long expiresIn = 600L; // 10 minutes
 
@@ -44,50 +49,101 @@ public class UserServiceImpl implements UserService {
      * Creates a new user.
      */
     @Override
+    @Timed("expensetracker.users.create")
     public LoginResponseDTO createNewUser(CreateNewUserDTO userDTO) {
 
         if (users.findByUsername(userDTO.getUsername()).isPresent()) {
             throw new UsernameAlreadyExistsException();
         }
 
+        // The cached role is detached, so the user points to a reference instead
         Role userRole = roles
                 .findByRoleName(Role.TypeRole.USER)
+                .map((role) -> roles.getReferenceById(role.getRoleId()))
                 .orElseThrow(RoleNotFoundException::new);
 
         User newUser = User.builder()
                 .username(userDTO.getUsername())
-                .password(passwordEncoder.encode(userDTO.getPassword()))
+                .password(passwordHashingService.encode(userDTO.getPassword()))
                 .roles(Set.of(userRole))
                 .build();
 
         users.save(newUser);
 
-        return LoginResponseDTO.builder()
-                .accessToken(tokenGenerator.generateToken(newUser, this.expiresIn))
-                .expiresIn(this.expiresIn)
-                .build();
+        return buildLoginResponse(newUser, refreshTokenService.issueToken(newUser.getUserId()));
     }
 
     /**
      * Given the correct user data, return its equivalent JWT.
      */
     @Override
+    @Timed("expensetracker.users.login")
     public LoginResponseDTO login(LoginRequestDTO loginDTO) {
 
         User user = users
                 .findByUsername(loginDTO.getUsername())
                 .orElseThrow(UserNotFoundException::new);
 
-        if (!passwordEncoder.matches(loginDTO.getPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(loginDTO.getPassword(), user.getPassword())) {
             throw new PasswordInvalidException();
         }
 
+        upgradePasswordHash(user, loginDTO.getPassword());
+
+        return buildLoginResponse(user, refreshTokenService.issueToken(user.getUserId()));
+    }
+
+    /**
+     * Trades a refresh token for a new access token and the refresh token
+     * replacing it, without checking the password again.
+     */
+    @Override
+    @Timed("expensetracker.users.refresh")
+    public LoginResponseDTO refreshToken(RefreshTokenRequestDTO refreshDTO) {
+        RefreshTokenRotation rotation = refreshTokenService.rotateToken(refreshDTO.getRefreshToken());
+
+        User user = users.findByUserId(rotation.userId());
+        if (user == null) {
+            throw new RefreshTokenInvalidException();
+        }
+
+        return buildLoginResponse(user, rotation.refreshToken());
+    }
+
+    /**
+     * Revokes a refresh token and every token rotated from the same login.
+     */
+    @Override
+    public void revokeToken(RefreshTokenRequestDTO refreshDTO) {
+        refreshTokenService.revokeToken(refreshDTO.getRefreshToken());
+    }
+
+    private LoginResponseDTO buildLoginResponse(User user, String refreshToken) {
         return LoginResponseDTO.builder()
                 .accessToken(tokenGenerator.generateToken(user, this.expiresIn))
                 .expiresIn(this.expiresIn)
+                .refreshToken(refreshToken)
+                .refreshExpiresIn(refreshTokenService.getExpiresIn())
                 .build();
     }
 
+    /**
+     * Rehashes the password of a user whose stored hash was made with another
+     * encoder or cost, now that the raw password is known to be correct. A
+     * saturated hashing executor only postpones the rehash to a later login.
+     */
+    private void upgradePasswordHash(User user, String rawPassword) {
+        if (!passwordHashingService.upgradeEncoding(user.getPassword())) {
+            return;
+        }
+
+        try {
+            users.updatePassword(user, passwordHashingService.encode(rawPassword));
+        } catch (PasswordHashingUnavailableException e) {
+            log.debug("Postponed the password rehash of user {}", user.getUserId());
+        }
+    }
+
     /**
      * List all users registered in the application.
      */
@@ -95,7 +151,7 @@ public class UserServiceImpl implements UserService {
     public List<UserResponseDTO> listUsers() {
         return users.findAll()
                 .stream()
-                .map((item) -> mapper.map(item, UserResponseDTO.class))
+                .map(UserMapper::toResponse)
                 .collect(Collectors.toList());
     }
 }
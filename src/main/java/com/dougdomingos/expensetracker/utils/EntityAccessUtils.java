@@ -1,17 +1,17 @@
 package com.dougdomingos.expensetracker.utils;
 
+import java.util.UUID;
+
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Component;
 
-import com.dougdomingos.expensetracker.auth.AuthUtils;
+import com.dougdomingos.expensetracker.auth.AuthenticatedUser;
 import com.dougdomingos.expensetracker.entities.categories.Category;
 import com.dougdomingos.expensetracker.entities.transaction.Transaction;
-import com.dougdomingos.expensetracker.entities.user.User;
 import com.dougdomingos.expensetracker.exceptions.category.CategoryNotFoundException;
 import com.dougdomingos.expensetracker.exceptions.transaction.TransactionNotFoundException;
 import com.dougdomingos.expensetracker.repositories.CategoryRepository;
 import com.dougdomingos.expensetracker.repositories.TransactionRepository;
-import com.dougdomingos.expensetracker.repositories.UserRepository;
 
 import lombok.RequiredArgsConstructor;
 
@@ -19,14 +19,16 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class EntityAccessUtils {
 
-    private final UserRepository userRepository;
+    private final AuthenticatedUser authenticatedUser;
 
     private final TransactionRepository transactionRepository;
 
     private final CategoryRepository categoryRepository;
 
     /**
-     * Given a transaction ID, returns the transaction object.
+     * Given a transaction ID, returns the transaction object. Ownership is
+     * checked by the same query that fetches the transaction; the existence
+     * check only runs when access is refused.
      * 
      * @param idTransaction The ID of the transaction to be fetched
      * @throws AccessDeniedException        Thrown if the requested transaction does
@@ -38,21 +40,19 @@ public class EntityAccessUtils {
     public Transaction fetchUserTransaction(Long idTransaction)
             throws AccessDeniedException, TransactionNotFoundException {
 
-        User currentUser = userRepository.findByUserId(AuthUtils.getAuthenticatedUserID());
-
-        Transaction transaction = transactionRepository
-                .findById(idTransaction)
-                .orElseThrow(TransactionNotFoundException::new);
-
-        if (!transaction.getOwner().equals(currentUser)) {
-            throw new AccessDeniedException("Current user does not own this transaction");
-        }
+        UUID currentUserId = authenticatedUser.getId();
 
-        return transaction;
+        return transactionRepository
+                .findByTransactionIdAndOwnerUserId(idTransaction, currentUserId)
+                .orElseThrow(() -> transactionRepository.existsById(idTransaction)
+                        ? new AccessDeniedException("Current user does not own this transaction")
+                        : new TransactionNotFoundException());
     }
 
     /**
-     * Given a category ID, returns the category object.
+     * Given a category ID, returns the category object. Ownership is checked by
+     * the same query that fetches the category; the existence check only runs
+     * when access is refused.
      * 
      * @param idCategory The ID of the category to be fetched
      * @throws AccessDeniedException     Thrown if the requested category does
@@ -64,16 +64,12 @@ public class EntityAccessUtils {
     public Category fetchUserCategory(Long idCategory)
             throws AccessDeniedException, CategoryNotFoundException {
 
-        User currentUser = userRepository.findByUserId(AuthUtils.getAuthenticatedUserID());
-
-        Category category = categoryRepository
-                .findById(idCategory)
-                .orElseThrow(CategoryNotFoundException::new);
-
-        if (!category.getOwner().equals(currentUser)) {
-            throw new AccessDeniedException("Current user does not own this category");
-        }
+        UUID currentUserId = authenticatedUser.getId();
 
-        return category;
+        return categoryRepository
+                .findByCategoryIdAndOwnerUserId(idCategory, currentUserId)
+                .orElseThrow(() -> categoryRepository.existsById(idCategory)
+                        ? new AccessDeniedException("Current user does not own this category")
+                        : new CategoryNotFoundException());
     }
 }
@@ -0,0 +1,69 @@
+package com.dougdomingos.expensetracker.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import com.dougdomingos.expensetracker.entities.transaction.Transaction;
+import com.dougdomingos.expensetracker.exceptions.transaction.InvalidCursorException;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Position of a transaction in a keyset-paginated listing, ordered by
+ * {@code (createdAt, transactionId)}. Clients only see its opaque, URL-safe
+ * string form.
+ */
+@Getter
+@AllArgsConstructor
+public class PageCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime createdAt;
+
+    private final Long transactionId;
+
+    /**
+     * Builds the cursor pointing right after the given transaction.
+     * 
+     * @param transaction The last transaction of the current page
+     * @return The cursor for the next page
+     */
+    public static PageCursor after(Transaction transaction) {
+        return new PageCursor(transaction.getCreatedAt(), transaction.getTransactionId());
+    }
+
+    /**
+     * Encodes this cursor into its opaque string form.
+     * 
+     * @return The encoded cursor
+     */
+    public String encode() {
+        String raw = createdAt + SEPARATOR + transactionId;
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode()}.
+     * 
+     * @param encoded The opaque cursor sent by the client
+     * @throws InvalidCursorException Thrown if the cursor is malformed
+     * @return The decoded cursor
+     */
+    public static PageCursor decode(String encoded) throws InvalidCursorException {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            int separatorIndex = raw.lastIndexOf(SEPARATOR);
+
+            return new PageCursor(
+                    LocalDateTime.parse(raw.substring(0, separatorIndex)),
+                    Long.valueOf(raw.substring(separatorIndex + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.dougdomingos.expensetracker.utils;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import com.dougdomingos.expensetracker.dto.transaction.TransactionPageResponseDTO;
+import com.dougdomingos.expensetracker.entities.transaction.Transaction;
+import com.dougdomingos.expensetracker.exceptions.transaction.InvalidCursorException;
+import com.dougdomingos.expensetracker.mappers.TransactionMapper;
+
+/**
+ * Keyset pagination shared by the transaction listings: page size clamping,
+ * cursor decoding and detection of the next page, around the queries of each
+ * listing.
+ */
+public final class TransactionPages {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private TransactionPages() {
+    }
+
+    /**
+     * Fetches one page of a listing ordered by {@code (createdAt, transactionId)}.
+     *
+     * @param cursor    The cursor of the page, or {@code null} for the first one
+     * @param limit     The requested page size, clamped to {@link #MAX_PAGE_SIZE}
+     * @param firstPage The query of the first page
+     * @param pageAfter The query of the page right after a cursor
+     * @throws InvalidCursorException Thrown if the cursor is malformed
+     * @return The page, with the cursor of the next one if there is any
+     */
+    public static TransactionPageResponseDTO fetch(
+            String cursor,
+            int limit,
+            Function<Pageable, List<Transaction>> firstPage,
+            BiFunction<PageCursor, Pageable, List<Transaction>> pageAfter) throws InvalidCursorException {
+
+        // Fetch one extra row to find out whether there is a next page
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+
+        List<Transaction> transactions = cursor == null || cursor.isBlank()
+                ? firstPage.apply(pageable)
+                : pageAfter.apply(PageCursor.decode(cursor), pageable);
+
+        String next = null;
+        if (transactions.size() > pageSize) {
+            transactions = transactions.subList(0, pageSize);
+            next = PageCursor.after(transactions.get(pageSize - 1)).encode();
+        }
+
+        return TransactionPageResponseDTO.builder()
+                .transactions(TransactionMapper.toResponses(transactions))
+                .next(next)
+                .build();
+    }
+}
@@ -0,0 +1,97 @@
+package com.dougdomingos.expensetracker;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dougdomingos.expensetracker.config.CacheNames;
+import com.dougdomingos.expensetracker.services.cache.CacheLookups;
+
+@SpringBootTest
+@ActiveProfiles("dev")
+@DisplayName("Integration tests for reads racing cache evictions")
+public class CacheInvalidationRaceTest {
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    Cache cache;
+
+    String key;
+
+    @BeforeEach
+    void setup() {
+        cache = cacheManager.getCache(CacheNames.BALANCES);
+        key = UUID.randomUUID().toString();
+    }
+
+    @Test
+    @DisplayName("Does not cache a value read before a write committed")
+    void whenWriteCommitsDuringRead_expectValueNotCached() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+
+        CompletableFuture<String> read = CompletableFuture.supplyAsync(() -> CacheLookups.getOrCompute(
+                cache, key, () -> {
+                    loading.countDown();
+                    await(written);
+                    return "stale";
+                }));
+
+        loading.await(5, TimeUnit.SECONDS);
+        new TransactionTemplate(transactionManager).executeWithoutResult((status) -> cache.evict(key));
+        written.countDown();
+
+        assertAll(
+                () -> assertEquals("stale", read.get(5, TimeUnit.SECONDS)),
+                () -> assertNull(cache.get(key)));
+    }
+
+    @Test
+    @DisplayName("Does not keep a value cached before a write committed")
+    void whenReadEndsBeforeWriteCommits_expectValueEvicted() {
+        new TransactionTemplate(transactionManager).executeWithoutResult((status) -> {
+            cache.evict(key);
+            CacheLookups.getOrCompute(cache, key, () -> "stale");
+        });
+
+        assertNull(cache.get(key));
+    }
+
+    @Test
+    @DisplayName("Caches a value read after a write committed")
+    void whenReadStartsAfterWriteCommits_expectValueCached() {
+        new TransactionTemplate(transactionManager).executeWithoutResult((status) -> cache.evict(key));
+
+        assertAll(
+                () -> assertEquals("fresh", CacheLookups.getOrCompute(cache, key, () -> "fresh")),
+                () -> assertEquals("fresh", cache.get(key).get()));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.dougdomingos.expensetracker;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.dougdomingos.expensetracker.auth.JWTAuthProvider;
+import com.dougdomingos.expensetracker.auth.JwtKeyManager;
+import com.dougdomingos.expensetracker.auth.JwtKeyStore;
+import com.dougdomingos.expensetracker.dto.user.LoginRequestDTO;
+import com.dougdomingos.expensetracker.dto.user.LoginResponseDTO;
+import com.dougdomingos.expensetracker.entities.auth.JwtSigningKey;
+import com.dougdomingos.expensetracker.repositories.JwtSigningKeyRepository;
+import com.dougdomingos.expensetracker.services.job.JobLeaseService;
+import com.dougdomingos.expensetracker.testutils.APITestClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSObject;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest(properties = "expensetracker.jwt.algorithm=ES256")
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+@DisplayName("Integration tests for the token signing keys")
+public class JwtSigningKeysTest {
+
+    final ObjectMapper objectMapper = new ObjectMapper();
+
+    final APITestClient apiClient = new APITestClient("");
+
+    @Autowired
+    MockMvc driver;
+
+    @Autowired
+    CommandLineRunner dataInitializer;
+
+    @Autowired
+    JwtKeyManager keyManager;
+
+    @Autowired
+    JwtKeyStore keyStore;
+
+    @Autowired
+    JwtDecoder jwtDecoder;
+
+    @Autowired
+    JwtSigningKeyRepository signingKeyRepository;
+
+    @BeforeEach
+    void setup() throws Exception {
+        dataInitializer.run();
+        apiClient.setDriver(driver);
+    }
+
+    @Test
+    @DisplayName("Signs tokens with the configured algorithm, naming the key")
+    void whenLogin_expectTokenSignedWithNamedKey() throws Exception {
+        JWSObject token = JWSObject.parse(login());
+
+        assertAll(
+                () -> assertEquals(JWSAlgorithm.ES256, token.getHeader().getAlgorithm()),
+                () -> assertNotNull(token.getHeader().getKeyID()));
+    }
+
+    @Test
+    @DisplayName("Publishes a rotated key to every node before signing with it")
+    void whenKeysAreRotated_expectNewKeyPublishedBeforeSigning() throws Exception {
+        String oldToken = login();
+
+        keyManager.rotateKeys();
+        String newToken = login();
+
+        JWK rotatedKey = keyStore.loadKeys().stream()
+                .filter((key) -> JWSAlgorithm.ES256.equals(key.getAlgorithm()))
+                .max(Comparator.comparing(JWK::getIssueTime))
+                .orElseThrow();
+
+        JwtKeyManager otherNodeKeys = new JwtKeyManager(
+                keyStore,
+                unsharedLeases(),
+                "ES256",
+                Duration.ofDays(30),
+                Duration.ofHours(1),
+                Duration.ofMinutes(6));
+
+        JWSHeader header = new JWSHeader.Builder(JWSAlgorithm.ES256).keyID(rotatedKey.getKeyID()).build();
+
+        assertAll(
+                () -> assertEquals(
+                        JWSObject.parse(oldToken).getHeader().getKeyID(),
+                        JWSObject.parse(newToken).getHeader().getKeyID()),
+                () -> assertNotEquals(rotatedKey.getKeyID(), JWSObject.parse(newToken).getHeader().getKeyID()),
+                () -> assertEquals(1, otherNodeKeys.selectJWSKeys(header, null).size()));
+    }
+
+    @Test
+    @DisplayName("Signs with a published key once active, still accepting older tokens")
+    void whenPublishedKeyBecomesActive_expectSigningToSwitch() throws Exception {
+        JWK currentKey = JwtKeyManager.generateKey(JWSAlgorithm.ES256);
+        JWK nextKey = JwtKeyManager.generateKey(JWSAlgorithm.ES256, Instant.now().plusSeconds(1));
+        List<JWK> stored = new ArrayList<>(List.of(currentKey, nextKey));
+
+        JwtKeyManager nodeKeys = new JwtKeyManager(
+                sharedStore(stored),
+                unsharedLeases(),
+                "ES256",
+                Duration.ofDays(30),
+                Duration.ofHours(1),
+                Duration.ofMinutes(6));
+
+        String signingKeyBefore = signingKeyId(nodeKeys);
+
+        Instant deadline = Instant.now().plusSeconds(5);
+        while (!signingKeyId(nodeKeys).equals(nextKey.getKeyID()) && Instant.now().isBefore(deadline)) {
+            Thread.sleep(50);
+        }
+
+        JWSHeader header = new JWSHeader.Builder(JWSAlgorithm.ES256).keyID(currentKey.getKeyID()).build();
+
+        assertAll(
+                () -> assertEquals(currentKey.getKeyID(), signingKeyBefore),
+                () -> assertEquals(nextKey.getKeyID(), signingKeyId(nodeKeys)),
+                () -> assertEquals(1, nodeKeys.selectJWSKeys(header, null).size()));
+    }
+
+    @Test
+    @DisplayName("Accepts tokens on another node sharing the key store")
+    void whenDecodingOnAnotherNode_expectTokenToPass() throws Exception {
+        String token = login();
+
+        JwtKeyManager otherNodeKeys = new JwtKeyManager(
+                keyStore,
+                unsharedLeases(),
+                "ES256",
+                Duration.ofDays(30),
+                Duration.ofHours(1),
+                Duration.ofMinutes(6));
+
+        JwtDecoder otherNodeDecoder = new JWTAuthProvider()
+                .jwtDecoder(otherNodeKeys, new SimpleMeterRegistry(), 100);
+
+        assertEquals("ADMIN", otherNodeDecoder.decode(token).getClaimAsString("scope"));
+    }
+
+    @Test
+    @DisplayName("Stores the signing keys encrypted, encrypting keys stored in plain text")
+    void whenStoringKeys_expectPrivatePartsEncrypted() {
+        JWK legacyKey = JwtKeyManager.generateKey(JWSAlgorithm.ES256);
+        signingKeyRepository.save(JwtSigningKey.builder()
+                .keyId(legacyKey.getKeyID())
+                .jwk(legacyKey.toJSONString())
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        List<JWK> loaded = keyStore.loadKeys();
+        List<JwtSigningKey> stored = signingKeyRepository.findAll();
+        keyStore.removeKey(legacyKey.getKeyID());
+
+        assertAll(
+                () -> assertTrue(loaded.stream().anyMatch((key) -> key.getKeyID().equals(legacyKey.getKeyID()))),
+                () -> assertTrue(loaded.stream().allMatch(JWK::isPrivate)),
+                () -> assertTrue(stored.stream().noneMatch((key) -> key.getJwk().contains("\"d\""))));
+    }
+
+    @Test
+    @DisplayName("Rejects tokens signed by an unknown key")
+    void whenDecodingTokenOfUnknownKey_expectToFail() {
+        NimbusJwtEncoder foreignEncoder = new NimbusJwtEncoder(
+                new ImmutableJWKSet<>(new JWKSet(JwtKeyManager.generateKey(JWSAlgorithm.ES256))));
+
+        String foreignToken = foreignEncoder.encode(JwtEncoderParameters.from(
+                JwsHeader.with(SignatureAlgorithm.ES256).build(),
+                JwtClaimsSet.builder()
+                        .issuer("expensetracker")
+                        .subject("admin")
+                        .expiresAt(Instant.now().plusSeconds(60))
+                        .build()))
+                .getTokenValue();
+
+        assertThrows(JwtException.class, () -> jwtDecoder.decode(foreignToken));
+    }
+
+    @Test
+    @DisplayName("Keeps signing with a key replaced only by one of another algorithm")
+    void whenNewerKeyIsOfAnotherAlgorithm_expectKeyNotRetired() throws Exception {
+        Date longAgo = Date.from(Instant.now().minus(Duration.ofDays(1)));
+        JWK rsaKey = new RSAKey.Builder(JwtKeyManager.generateKey(JWSAlgorithm.RS256).toRSAKey())
+                .issueTime(longAgo)
+                .build();
+        JWK ecKey = new ECKey.Builder(JwtKeyManager.generateKey(JWSAlgorithm.ES256).toECKey())
+                .issueTime(Date.from(Instant.now().minus(Duration.ofHours(2))))
+                .build();
+
+        List<JWK> stored = new ArrayList<>(List.of(rsaKey, ecKey));
+
+        JwtKeyManager rsaNodeKeys = new JwtKeyManager(
+                sharedStore(stored),
+                unsharedLeases(),
+                "RS256",
+                Duration.ofDays(30),
+                Duration.ofHours(1),
+                Duration.ofMinutes(6));
+
+        JWSHeader header = new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(rsaKey.getKeyID()).build();
+
+        assertAll(
+                () -> assertEquals(2, stored.size()),
+                () -> assertEquals(1, rsaNodeKeys.selectJWSKeys(header, null).size()));
+    }
+
+    private static JwtKeyStore sharedStore(List<JWK> stored) {
+        return new JwtKeyStore() {
+            @Override
+            public List<JWK> loadKeys() {
+                return List.copyOf(stored);
+            }
+
+            @Override
+            public void addKey(JWK key) {
+                stored.add(key);
+            }
+
+            @Override
+            public void removeKey(String keyId) {
+                stored.removeIf((key) -> key.getKeyID().equals(keyId));
+            }
+        };
+    }
+
+    private static String signingKeyId(JwtKeyManager keyManager) throws Exception {
+        return keyManager.signingKeySource()
+                .get(new JWKSelector(new JWKMatcher.Builder().build()), null)
+                .get(0)
+                .getKeyID();
+    }
+
+    private static JobLeaseService unsharedLeases() {
+        return new JobLeaseService() {
+            @Override
+            public boolean runExclusively(String jobName, Runnable job) {
+                job.run();
+                return true;
+            }
+
+            @Override
+            public void renewLease(String jobName) {
+            }
+        };
+    }
+
+    private String login() throws Exception {
+        apiClient.setAuthToken(null);
+        apiClient.setRoute("/users/login");
+        String responseJSON = apiClient.makePostRequest(new LoginRequestDTO("admin", "admin"), status().isOk());
+
+        return objectMapper
+                .readValue(responseJSON, LoginResponseDTO.LoginResponseDTOBuilder.class)
+                .build()
+                .getAccessToken();
+    }
+}
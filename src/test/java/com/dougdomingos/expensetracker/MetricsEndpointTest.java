@@ -0,0 +1,122 @@
+package com.dougdomingos.expensetracker;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.dougdomingos.expensetracker.auth.TokenGenerator;
+import com.dougdomingos.expensetracker.dto.user.LoginRequestDTO;
+import com.dougdomingos.expensetracker.entities.user.User;
+import com.dougdomingos.expensetracker.exceptions.user.UserNotFoundException;
+import com.dougdomingos.expensetracker.repositories.UserRepository;
+import com.dougdomingos.expensetracker.testutils.APITestClient;
+
+@SpringBootTest(properties = "expensetracker.metrics.scrape-password=scrape-secret")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("dev")
+@DisplayName("Integration tests for the metrics endpoints")
+public class MetricsEndpointTest {
+
+    final APITestClient apiClient = new APITestClient("");
+
+    @Autowired
+    MockMvc driver;
+
+    @Autowired
+    CommandLineRunner dataInitializer;
+
+    @Autowired
+    TokenGenerator tokenGenerator;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @BeforeEach
+    void setup() throws Exception {
+        dataInitializer.run();
+        apiClient.setDriver(driver);
+    }
+
+    @Test
+    @DisplayName("Exposes service, HTTP, Hibernate, pool and cache metrics to Prometheus")
+    void whenScrapingPrometheus_expectApplicationMetrics() throws Exception {
+        apiClient.setRoute("/users/login");
+        apiClient.makePostRequest(new LoginRequestDTO("admin", "admin"), status().isOk());
+
+        String metrics = driver
+                .perform(get("/actuator/prometheus").with(httpBasic("prometheus", "scrape-secret")))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertAll(
+                () -> assertTrue(metrics.contains("expensetracker_users_login_seconds_count")),
+                () -> assertTrue(metrics.contains("http_server_requests_seconds_bucket")),
+                () -> assertTrue(metrics.contains("hibernate_query_executions_total")),
+                () -> assertTrue(metrics.contains("hikaricp_connections_active")),
+                () -> assertTrue(metrics.contains("cache_gets_total{application=\"expensetracker\",cache=\"usersByName\"")));
+    }
+
+    @Test
+    @DisplayName("Rejects scraping Prometheus without the scrape credentials")
+    void whenScrapingPrometheus_withoutScrapeCredentials_expectToFail() throws Exception {
+        driver.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+
+        driver.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "wrong")))
+                .andExpect(status().isUnauthorized());
+
+        User admin = userRepository.findByUsername("admin").orElseThrow(UserNotFoundException::new);
+        apiClient.setAuthToken(tokenGenerator.generateToken(admin, 120L));
+        apiClient.setRoute("/actuator/prometheus");
+        apiClient.makeGetRequest(null, status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Exposes metrics to admins")
+    void whenReadingMetrics_asAdmin_expectToPass() throws Exception {
+        User admin = userRepository.findByUsername("admin").orElseThrow(UserNotFoundException::new);
+        apiClient.setAuthToken(tokenGenerator.generateToken(admin, 120L));
+        apiClient.setRoute("/actuator/metrics");
+        apiClient.makeGetRequest(null, status().isOk());
+    }
+
+    @Test
+    @DisplayName("Rejects reading metrics without authentication")
+    void whenReadingMetrics_withoutToken_expectToFail() throws Exception {
+        apiClient.setRoute("/actuator/metrics");
+        apiClient.makeGetRequest(null, status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Rejects reading metrics as a regular user")
+    void whenReadingMetrics_withoutAdminScope_expectToFail() throws Exception {
+        User regularUser = User.builder()
+                .userId(UUID.randomUUID())
+                .username("regular")
+                .roles(Set.of())
+                .build();
+
+        apiClient.setAuthToken(tokenGenerator.generateToken(regularUser, 120L));
+        apiClient.setRoute("/actuator/metrics");
+        apiClient.makeGetRequest(null, status().isForbidden());
+    }
+}
@@ -0,0 +1,95 @@
+package com.dougdomingos.expensetracker;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.dougdomingos.expensetracker.dto.user.LoginRequestDTO;
+import com.dougdomingos.expensetracker.testutils.APITestClient;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(properties = {
+        "expensetracker.password-hashing.threads=1",
+        "expensetracker.password-hashing.queue-capacity=0"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+@DisplayName("Integration tests for the password hashing backpressure")
+public class PasswordHashingBackpressureTest {
+
+    final APITestClient apiClient = new APITestClient("/users");
+
+    final CountDownLatch release = new CountDownLatch(1);
+
+    @Autowired
+    MockMvc driver;
+
+    @Autowired
+    CommandLineRunner dataInitializer;
+
+    @Autowired
+    @Qualifier("passwordHashingExecutor")
+    ThreadPoolTaskExecutor hashingExecutor;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() throws Exception {
+        dataInitializer.run();
+        apiClient.setDriver(driver);
+        apiClient.setRoute("/login");
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Rejects logins with 429 while every hashing worker is busy")
+    void whenHashingExecutorIsSaturated_expectTooManyRequests() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        hashingExecutor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        started.await(5, TimeUnit.SECONDS);
+
+        apiClient.makePostRequest(new LoginRequestDTO("admin", "admin"), status().isTooManyRequests());
+
+        assertAll(
+                () -> assertEquals("1", apiClient.getLastResponse().getHeader(HttpHeaders.RETRY_AFTER)),
+                () -> assertEquals(1.0, meterRegistry.get("expensetracker.password.hash.rejected").counter().count()));
+    }
+
+    @Test
+    @DisplayName("Accepts logins again once a hashing worker is free")
+    void whenHashingExecutorIsIdle_expectLoginToSucceed() throws Exception {
+        apiClient.makePostRequest(new LoginRequestDTO("admin", "admin"), status().isOk());
+
+        assertEquals(1L, meterRegistry.get("expensetracker.password.hash").tag("operation", "matches").timer().count());
+    }
+}
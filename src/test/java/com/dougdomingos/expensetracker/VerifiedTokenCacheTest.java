@@ -0,0 +1,132 @@
+package com.dougdomingos.expensetracker;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.dougdomingos.expensetracker.auth.CachingJwtDecoder;
+import com.dougdomingos.expensetracker.dto.user.LoginRequestDTO;
+import com.dougdomingos.expensetracker.dto.user.LoginResponseDTO;
+import com.dougdomingos.expensetracker.testutils.APITestClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+@DisplayName("Integration tests for the verified token cache")
+public class VerifiedTokenCacheTest {
+
+    final ObjectMapper objectMapper = new ObjectMapper();
+
+    final APITestClient apiClient = new APITestClient("");
+
+    @Autowired
+    MockMvc driver;
+
+    @Autowired
+    CommandLineRunner dataInitializer;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() throws Exception {
+        dataInitializer.run();
+        apiClient.setDriver(driver);
+    }
+
+    @Test
+    @DisplayName("Verifies the signature of a token only on its first request")
+    void whenReusingToken_expectSignatureVerifiedOnce() throws Exception {
+        apiClient.setRoute("/users/login");
+        String responseJSON = apiClient.makePostRequest(new LoginRequestDTO("admin", "admin"), status().isOk());
+
+        apiClient.setAuthToken(objectMapper
+                .readValue(responseJSON, LoginResponseDTO.LoginResponseDTOBuilder.class)
+                .build()
+                .getAccessToken());
+
+        long verificationsBefore = verifications();
+        double hitsBefore = cacheHits();
+
+        apiClient.setRoute("/transactions/balance");
+        for (int i = 0; i < 3; i++) {
+            apiClient.makeGetRequest(null, status().isOk());
+        }
+
+        assertAll(
+                () -> assertEquals(1, verifications() - verificationsBefore),
+                () -> assertEquals(2.0, cacheHits() - hitsBefore));
+    }
+
+    @Test
+    @DisplayName("Does not keep tokens that already expired")
+    void whenTokenIsExpired_expectNotCached() {
+        AtomicInteger verifications = new AtomicInteger();
+        JwtDecoder decoder = new CachingJwtDecoder((token) -> {
+            verifications.incrementAndGet();
+            return buildJwt(token, Instant.now().minusSeconds(1));
+        }, 100, new SimpleMeterRegistry());
+
+        decoder.decode("expired");
+        decoder.decode("expired");
+
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    @DisplayName("Does not keep rejected tokens")
+    void whenTokenIsRejected_expectNotCached() {
+        AtomicInteger verifications = new AtomicInteger();
+        JwtDecoder decoder = new CachingJwtDecoder((token) -> {
+            verifications.incrementAndGet();
+            throw new BadJwtException("Invalid signature");
+        }, 100, new SimpleMeterRegistry());
+
+        assertAll(
+                () -> assertThrows(BadJwtException.class, () -> decoder.decode("forged")),
+                () -> assertThrows(BadJwtException.class, () -> decoder.decode("forged")),
+                () -> assertEquals(2, verifications.get()));
+    }
+
+    private long verifications() {
+        return meterRegistry.get("expensetracker.jwt.verification").timer().count();
+    }
+
+    private double cacheHits() {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "verifiedTokens")
+                .tag("result", "hit")
+                .functionCounter()
+                .count();
+    }
+
+    private static Jwt buildJwt(String token, Instant expiresAt) {
+        return Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .subject("user")
+                .issuedAt(expiresAt.minusSeconds(600))
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
@@ -4,10 +4,18 @@ import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static com.dougdomingos.expensetracker.testutils.QueryCountAssertions.assertQueryCount;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,11 +28,16 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.LinkedMultiValueMap;
 
 import com.dougdomingos.expensetracker.auth.TokenGenerator;
+import com.dougdomingos.expensetracker.dto.category.CategoryAssignmentDTO;
 import com.dougdomingos.expensetracker.dto.category.CategoryResponseDTO;
+import com.dougdomingos.expensetracker.dto.category.CategorySummaryDTO;
 import com.dougdomingos.expensetracker.dto.category.CreateCategoryDTO;
 import com.dougdomingos.expensetracker.dto.category.EditCategoryDTO;
+import com.dougdomingos.expensetracker.dto.transaction.EditTransactionDTO;
+import com.dougdomingos.expensetracker.dto.transaction.TransactionPageResponseDTO;
 import com.dougdomingos.expensetracker.entities.categories.Category;
 import com.dougdomingos.expensetracker.entities.transaction.Transaction;
 import com.dougdomingos.expensetracker.entities.transaction.TransactionType;
@@ -332,14 +345,14 @@ public class CategoryControllerTest {
                     "/" + incomeCategory.getCategoryId() + "/transactions/" + incomeTransaction.getTransactionId());
             String responseJSON = apiClient.makePostRequest(null, status().isOk());
 
-            CategoryResponseDTO result = objectMapper
-                    .readValue(responseJSON, CategoryResponseDTO.class);
+            CategorySummaryDTO result = objectMapper
+                    .readValue(responseJSON, CategorySummaryDTO.class);
 
             assertAll(
                     () -> assertEquals("Test category", result.getName()),
                     () -> assertEquals(TransactionType.INCOME, result.getCategoryType()),
                     () -> assertEquals(incomeTransaction.getAmount(), result.getTotalAmount()),
-                    () -> assertEquals(1, result.getTransactions().size()));
+                    () -> assertEquals(1L, result.getTransactionCount()));
         }
 
         @Test
@@ -356,14 +369,14 @@ public class CategoryControllerTest {
                     "/" + expenseCategory.getCategoryId() + "/transactions/" + expenseTransaction.getTransactionId());
             String responseJSON = apiClient.makePostRequest(null, status().isOk());
 
-            CategoryResponseDTO result = objectMapper
-                    .readValue(responseJSON, CategoryResponseDTO.class);
+            CategorySummaryDTO result = objectMapper
+                    .readValue(responseJSON, CategorySummaryDTO.class);
 
             assertAll(
                     () -> assertEquals("Test category", result.getName()),
                     () -> assertEquals(TransactionType.EXPENSE, result.getCategoryType()),
                     () -> assertEquals(expenseTransaction.getAmount(), result.getTotalAmount()),
-                    () -> assertEquals(1, result.getTransactions().size()));
+                    () -> assertEquals(1L, result.getTransactionCount()));
         }
 
         @Test
@@ -375,13 +388,38 @@ public class CategoryControllerTest {
                     "/" + incomeCategory.getCategoryId() + "/transactions/" + transaction1.getTransactionId());
             String responseJSON = apiClient.makePostRequest(null, status().isOk());
 
-            CategoryResponseDTO result = objectMapper.readValue(responseJSON, CategoryResponseDTO.class);
+            CategorySummaryDTO result = objectMapper.readValue(responseJSON, CategorySummaryDTO.class);
 
             assertAll(
                     () -> assertEquals(0, categoryInitialAmount),
                     () -> assertEquals(transaction1.getAmount(), result.getTotalAmount()));
         }
 
+        @Test
+        @DisplayName("Listing categories reflects membership changes made after a cached read")
+        void whenListingCategories_afterAddingTransaction_expectFreshSummaries() throws Exception {
+            apiClient.setRoute("");
+            List<CategorySummaryDTO> before = objectMapper.readValue(
+                    apiClient.makeGetRequest(null, status().isOk()),
+                    new TypeReference<>() {
+                    });
+
+            apiClient.setRoute(
+                    "/" + incomeCategory.getCategoryId() + "/transactions/" + transaction1.getTransactionId());
+            apiClient.makePostRequest(null, status().isOk());
+
+            apiClient.setRoute("");
+            List<CategorySummaryDTO> after = objectMapper.readValue(
+                    apiClient.makeGetRequest(null, status().isOk()),
+                    new TypeReference<>() {
+                    });
+
+            assertAll(
+                    () -> assertEquals(0L, before.get(0).getTransactionCount()),
+                    () -> assertEquals(1L, after.get(0).getTransactionCount()),
+                    () -> assertEquals(transaction1.getAmount(), after.get(0).getTotalAmount()));
+        }
+
         @Test
         @DisplayName("Removing a transaction from a category decrements its total amount")
         void whenRemoveTransactionFromCategory_expectTotalAmountToDecrement() throws Exception {
@@ -393,11 +431,264 @@ public class CategoryControllerTest {
                     "/" + expenseCategory.getCategoryId() + "/transactions/" + transaction2.getTransactionId());
             String responseJSON = apiClient.makeDeleteRequest(null, status().isOk());
 
-            CategoryResponseDTO result = objectMapper.readValue(responseJSON, CategoryResponseDTO.class);
+            CategorySummaryDTO result = objectMapper.readValue(responseJSON, CategorySummaryDTO.class);
 
             assertAll(
                     () -> assertEquals(250, categoryInitialAmount),
-                    () -> assertEquals(0, result.getTotalAmount()));
+                    () -> assertEquals(0, result.getTotalAmount()),
+                    () -> assertEquals(0L, result.getTransactionCount()));
+        }
+
+        @Test
+        @DisplayName("Moving a transaction to another category updates both totals")
+        void whenAddTransactionToCategory_fromOtherCategory_expectBothTotalsToChange() throws Exception {
+            Category otherIncomeCategory = createTestCategory(TransactionType.INCOME);
+            incomeCategory.addTransaction(transaction1);
+            categoryRepository.save(incomeCategory);
+
+            apiClient.setRoute(
+                    "/" + otherIncomeCategory.getCategoryId() + "/transactions/" + transaction1.getTransactionId());
+            String responseJSON = apiClient.makePostRequest(null, status().isOk());
+
+            CategorySummaryDTO result = objectMapper.readValue(responseJSON, CategorySummaryDTO.class);
+
+            assertAll(
+                    () -> assertEquals(transaction1.getAmount(), result.getTotalAmount()),
+                    () -> assertEquals(1L, result.getTransactionCount()),
+                    () -> assertEquals(0, categoryRepository.findById(incomeCategory.getCategoryId())
+                            .orElseThrow().getTotalAmount()),
+                    () -> assertEquals(0L, categoryRepository.findById(incomeCategory.getCategoryId())
+                            .orElseThrow().getTransactionCount()));
+        }
+
+        @Test
+        @DisplayName("Deleting a transaction removes it from the totals of its category")
+        void whenDeleteTransaction_withCategory_expectCategoryTotalsToDecrement() throws Exception {
+            incomeCategory.addTransaction(transaction1);
+            categoryRepository.save(incomeCategory);
+
+            APITestClient transactionsClient = new APITestClient("/transactions");
+            transactionsClient.setDriver(driver);
+            transactionsClient.setAuthToken(tokenGenerator.generateToken(testUser, 120L));
+            transactionsClient.setRoute("/" + transaction1.getTransactionId());
+            transactionsClient.makeDeleteRequest(null, status().isNoContent());
+
+            Category result = categoryRepository.findById(incomeCategory.getCategoryId()).orElseThrow();
+
+            assertAll(
+                    () -> assertEquals(0, result.getTotalAmount()),
+                    () -> assertEquals(0L, result.getTransactionCount()));
+        }
+
+        @Test
+        @DisplayName("Concurrent moves of a transaction subtract it from its old category once")
+        void whenMovingTransactionConcurrently_expectTotalsToStayConsistent() throws Exception {
+            incomeCategory.addTransaction(transaction1);
+            categoryRepository.save(incomeCategory);
+
+            int movers = 4;
+            List<Category> targets = new ArrayList<>();
+            for (int i = 0; i < movers; i++) {
+                targets.add(createTestCategory(TransactionType.INCOME));
+            }
+
+            CyclicBarrier start = new CyclicBarrier(movers);
+            ExecutorService executor = Executors.newFixedThreadPool(movers);
+            List<Future<?>> moves = new ArrayList<>();
+
+            try {
+                for (Category target : targets) {
+                    moves.add(executor.submit(() -> {
+                        APITestClient moverClient = new APITestClient("/categories");
+                        moverClient.setDriver(driver);
+                        moverClient.setAuthToken(tokenGenerator.generateToken(testUser, 120L));
+                        moverClient.setRoute(
+                                "/" + target.getCategoryId() + "/transactions/" + transaction1.getTransactionId());
+
+                        start.await();
+                        return moverClient.makePostRequest(null, status().isOk());
+                    }));
+                }
+
+                for (Future<?> move : moves) {
+                    move.get(30, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            List<Category> categories = categoryRepository.findByOwner(testUser);
+
+            assertAll(
+                    () -> assertEquals(transaction1.getAmount(), categories.stream()
+                            .mapToDouble(Category::getTotalAmount)
+                            .sum()),
+                    () -> assertEquals(1L, categories.stream()
+                            .mapToLong(Category::getTransactionCount)
+                            .sum()),
+                    () -> assertTrue(categories.stream()
+                            .allMatch((category) -> category.getTransactionCount() >= 0)));
+        }
+
+        @Test
+        @DisplayName("Editing the amount of a transaction updates the total of its category")
+        void whenEditTransaction_withCategory_expectCategoryTotalToFollow() throws Exception {
+            incomeCategory.addTransaction(transaction1);
+            categoryRepository.save(incomeCategory);
+
+            // Caches the summaries before the edit
+            apiClient.setRoute("");
+            apiClient.makeGetRequest(null, status().isOk());
+
+            APITestClient transactionsClient = new APITestClient("/transactions");
+            transactionsClient.setDriver(driver);
+            transactionsClient.setAuthToken(tokenGenerator.generateToken(testUser, 120L));
+            transactionsClient.setRoute("/" + transaction1.getTransactionId());
+            transactionsClient.makePutRequest(EditTransactionDTO.builder()
+                    .title("Edited income")
+                    .amount(400D)
+                    .build(), status().isOk());
+
+            List<CategorySummaryDTO> summaries = objectMapper.readValue(
+                    apiClient.makeGetRequest(null, status().isOk()),
+                    new TypeReference<List<CategorySummaryDTO>>() {
+                    });
+
+            Category result = categoryRepository.findById(incomeCategory.getCategoryId()).orElseThrow();
+
+            assertAll(
+                    () -> assertEquals(400, result.getTotalAmount()),
+                    () -> assertEquals(1L, result.getTransactionCount()),
+                    () -> assertEquals(400, summaries.stream()
+                            .filter((summary) -> summary.getCategoryId().equals(incomeCategory.getCategoryId()))
+                            .findFirst()
+                            .orElseThrow()
+                            .getTotalAmount()));
+        }
+
+        @Test
+        @DisplayName("Categories created before transactions were counted get counted on startup")
+        void whenInitializingData_withUncountedCategory_expectTransactionsCounted() throws Exception {
+            incomeCategory.addTransaction(transaction1);
+            incomeCategory.setTransactionCount(null);
+            categoryRepository.save(incomeCategory);
+
+            dataInitializer.run();
+
+            assertEquals(1L, categoryRepository.findById(incomeCategory.getCategoryId())
+                    .orElseThrow().getTransactionCount());
+        }
+
+        @Test
+        @DisplayName("Adding a transaction twice to a category counts it once")
+        void whenAddTransactionToCategory_twice_expectTotalAmountToIncrementOnce() throws Exception {
+            apiClient.setRoute(
+                    "/" + incomeCategory.getCategoryId() + "/transactions/" + transaction1.getTransactionId());
+            apiClient.makePostRequest(null, status().isOk());
+            String responseJSON = apiClient.makePostRequest(null, status().isOk());
+
+            CategorySummaryDTO result = objectMapper.readValue(responseJSON, CategorySummaryDTO.class);
+
+            assertAll(
+                    () -> assertEquals(transaction1.getAmount(), result.getTotalAmount()),
+                    () -> assertEquals(1L, result.getTransactionCount()));
+        }
+
+        @Test
+        @DisplayName("Accepts assigning many transactions to a category at once")
+        void whenAddTransactionsToCategory_inBulk_expectAllToBeAssigned() throws Exception {
+            List<Transaction> incomes = new ArrayList<>();
+            for (int i = 0; i < 1500; i++) {
+                incomes.add(Transaction.builder()
+                        .title("Income " + i)
+                        .transactionType(TransactionType.INCOME)
+                        .amount(2D)
+                        .owner(testUser)
+                        .build());
+            }
+
+            CategoryAssignmentDTO assignment = CategoryAssignmentDTO.builder()
+                    .transactionIds(transactionRepository.saveAll(incomes).stream()
+                            .map(Transaction::getTransactionId)
+                            .toList())
+                    .build();
+
+            apiClient.setRoute("/" + incomeCategory.getCategoryId() + "/transactions");
+            String responseJSON = apiClient.makePostRequest(assignment, status().isOk());
+
+            CategorySummaryDTO result = objectMapper.readValue(responseJSON, CategorySummaryDTO.class);
+
+            assertAll(
+                    () -> assertEquals(3000D, result.getTotalAmount()),
+                    () -> assertEquals(1500L, result.getTransactionCount()));
+        }
+
+        @Test
+        @DisplayName("Rejects bulk assignments with any mismatching type, assigning nothing")
+        void whenAddTransactionsToCategory_withMismatchingType_expectToFail() throws Exception {
+            CategoryAssignmentDTO assignment = CategoryAssignmentDTO.builder()
+                    .transactionIds(List.of(transaction1.getTransactionId(), transaction2.getTransactionId()))
+                    .build();
+
+            apiClient.setRoute("/" + incomeCategory.getCategoryId() + "/transactions");
+            String responseJSON = apiClient.makePostRequest(assignment, status().isBadRequest());
+
+            ApplicationErrorType result = objectMapper.readValue(responseJSON, ApplicationErrorType.class);
+
+            assertAll(
+                    () -> assertEquals("Transaction type does not match category type", result.getMessage()),
+                    () -> assertEquals(0L, categoryRepository.summarizeById(incomeCategory.getCategoryId())
+                            .getTransactionCount()));
+        }
+
+        @Test
+        @DisplayName("Rejects bulk assignments with unknown transactions")
+        void whenAddTransactionsToCategory_withUnknownTransaction_expectToFail() throws Exception {
+            CategoryAssignmentDTO assignment = CategoryAssignmentDTO.builder()
+                    .transactionIds(List.of(transaction1.getTransactionId(), Long.MAX_VALUE))
+                    .build();
+
+            apiClient.setRoute("/" + incomeCategory.getCategoryId() + "/transactions");
+            String responseJSON = apiClient.makePostRequest(assignment, status().isBadRequest());
+
+            ApplicationErrorType result = objectMapper.readValue(responseJSON, ApplicationErrorType.class);
+
+            assertEquals("Specified transaction not found", result.getMessage());
+        }
+
+        @Test
+        @DisplayName("Paginates the transactions of a category through the next cursor")
+        void whenListCategoryTransactions_withLimit_expectToPaginateWithCursor() throws Exception {
+            incomeCategory.addTransaction(transaction1);
+            incomeCategory.addTransaction(transactionRepository.save(Transaction.builder()
+                    .title("Another income transaction")
+                    .transactionType(TransactionType.INCOME)
+                    .amount(100D)
+                    .owner(testUser)
+                    .build()));
+            categoryRepository.save(incomeCategory);
+
+            LinkedMultiValueMap<String, String> requestParams = new LinkedMultiValueMap<>();
+            requestParams.add("limit", "1");
+            apiClient.setParams(requestParams);
+            apiClient.setRoute("/" + incomeCategory.getCategoryId() + "/transactions");
+
+            TransactionPageResponseDTO firstPage = objectMapper.readValue(
+                    apiClient.makeGetRequest(null, status().isOk()),
+                    TransactionPageResponseDTO.class);
+
+            requestParams.add("cursor", firstPage.getNext());
+            TransactionPageResponseDTO secondPage = objectMapper.readValue(
+                    apiClient.makeGetRequest(null, status().isOk()),
+                    TransactionPageResponseDTO.class);
+            assertQueryCount(apiClient, 2);
+
+            assertAll(
+                    () -> assertEquals(1, firstPage.getTransactions().size()),
+                    () -> assertNotNull(firstPage.getNext()),
+                    () -> assertEquals(1, secondPage.getTransactions().size()),
+                    () -> assertNull(secondPage.getNext()),
+                    () -> assertEquals(transaction1.getTransactionId(), secondPage.getTransactions().get(0).getId()));
         }
 
         @Test
@@ -457,12 +748,22 @@ public class CategoryControllerTest {
         }
 
         @Test
-        @DisplayName("Accepts reading existent category")
+        @DisplayName("Accepts reading existent category, without loading its transactions")
         void whenReadingCategory_withValidID_expectToPass() throws Exception {
             Category testCategory = createTestCategory(TransactionType.INCOME);
+            for (int i = 0; i < 3; i++) {
+                testCategory.addTransaction(transactionRepository.save(Transaction.builder()
+                        .transactionType(TransactionType.INCOME)
+                        .title("Transaction " + i)
+                        .amount(100D)
+                        .owner(testUser)
+                        .build()));
+            }
+            categoryRepository.save(testCategory);
 
             apiClient.setRoute("/" + testCategory.getCategoryId());
             String responseJSON = apiClient.makeGetRequest(null, status().isOk());
+            assertQueryCount(apiClient, 1);
 
             CategoryResponseDTO result = objectMapper
                     .readValue(responseJSON, CategoryResponseDTO.CategoryResponseDTOBuilder.class)
@@ -471,7 +772,36 @@ public class CategoryControllerTest {
             assertAll(
                     () -> assertEquals(testCategory.getName(), result.getName()),
                     () -> assertEquals(testCategory.getCategoryType(), result.getCategoryType()),
-                    () -> assertNotNull(result.getTransactions()));
+                    () -> assertEquals(3, result.getTransactionCount()));
+        }
+
+        @Test
+        @DisplayName("Rejects reading categories of another user")
+        void whenReadingCategory_ofAnotherUser_expectToFail() throws Exception {
+            User otherUser = userRepository.save(User.builder()
+                    .username("other")
+                    .password("other")
+                    .build());
+
+            Category otherCategory = categoryRepository.save(Category.builder()
+                    .name("Other category")
+                    .categoryType(TransactionType.INCOME)
+                    .owner(otherUser)
+                    .build());
+
+            apiClient.setRoute("/" + otherCategory.getCategoryId());
+            apiClient.makeGetRequest(null, status().isForbidden());
+        }
+
+        @Test
+        @DisplayName("Rejects reading nonexistent categories")
+        void whenReadingCategory_withUnknownID_expectToFail() throws Exception {
+            apiClient.setRoute("/" + Long.MAX_VALUE);
+            String responseJSON = apiClient.makeGetRequest(null, status().isBadRequest());
+
+            ApplicationErrorType result = objectMapper.readValue(responseJSON, ApplicationErrorType.class);
+
+            assertEquals("Specified category not found", result.getMessage());
         }
 
         @Test
@@ -480,15 +810,27 @@ public class CategoryControllerTest {
             Category category1 = createTestCategory(TransactionType.INCOME);
             Category category2 = createTestCategory(TransactionType.EXPENSE);
 
+            category1.addTransaction(transactionRepository.save(Transaction.builder()
+                    .title("Income transaction")
+                    .transactionType(TransactionType.INCOME)
+                    .amount(250D)
+                    .owner(testUser)
+                    .build()));
+            categoryRepository.save(category1);
+
             String responseJSON = apiClient.makeGetRequest(null, status().isOk());
+            assertQueryCount(apiClient, 1);
 
-            List<CategoryResponseDTO> result = objectMapper.readValue(responseJSON, new TypeReference<>() {
+            List<CategorySummaryDTO> result = objectMapper.readValue(responseJSON, new TypeReference<>() {
             });
 
             assertAll(
                     () -> assertEquals(2, result.size()),
                     () -> assertEquals(category1.getCategoryType(), result.get(0).getCategoryType()),
-                    () -> assertEquals(category2.getCategoryType(), result.get(1).getCategoryType()));
+                    () -> assertEquals(250D, result.get(0).getTotalAmount()),
+                    () -> assertEquals(1L, result.get(0).getTransactionCount()),
+                    () -> assertEquals(category2.getCategoryType(), result.get(1).getCategoryType()),
+                    () -> assertEquals(0L, result.get(1).getTransactionCount()));
         }
 
         @Test
@@ -3,13 +3,29 @@ package com.dougdomingos.expensetracker.controllers;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static com.dougdomingos.expensetracker.testutils.QueryCountAssertions.assertQueryCount;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.YearMonth;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -29,17 +45,28 @@ import com.dougdomingos.expensetracker.auth.TokenGenerator;
 import com.dougdomingos.expensetracker.dto.transaction.BalanceResponseDTO;
 import com.dougdomingos.expensetracker.dto.transaction.CreateTransactionDTO;
 import com.dougdomingos.expensetracker.dto.transaction.EditTransactionDTO;
+import com.dougdomingos.expensetracker.dto.transaction.LedgerVerificationReportDTO;
+import com.dougdomingos.expensetracker.dto.transaction.TransactionPageResponseDTO;
 import com.dougdomingos.expensetracker.dto.transaction.TransactionResponseDTO;
+import com.dougdomingos.expensetracker.entities.balance.MonthlyBalance;
+import com.dougdomingos.expensetracker.entities.balance.MonthlyBalanceId;
+import com.dougdomingos.expensetracker.entities.job.JobCheckpoint;
+import com.dougdomingos.expensetracker.entities.job.JobLease;
 import com.dougdomingos.expensetracker.entities.transaction.Transaction;
 import com.dougdomingos.expensetracker.entities.transaction.TransactionType;
 import com.dougdomingos.expensetracker.entities.user.User;
 import com.dougdomingos.expensetracker.exceptions.ApplicationErrorType;
+import com.dougdomingos.expensetracker.exceptions.job.JobLeaseLostException;
 import com.dougdomingos.expensetracker.exceptions.user.UserNotFoundException;
+import com.dougdomingos.expensetracker.repositories.JobCheckpointRepository;
+import com.dougdomingos.expensetracker.repositories.JobLeaseRepository;
+import com.dougdomingos.expensetracker.repositories.MonthlyBalanceRepository;
 import com.dougdomingos.expensetracker.repositories.TransactionRepository;
 import com.dougdomingos.expensetracker.repositories.UserRepository;
+import com.dougdomingos.expensetracker.services.job.JobLeaseService;
 import com.dougdomingos.expensetracker.services.transaction.RecurrentTransactionService;
+import com.dougdomingos.expensetracker.services.transaction.RolloverPartitionReport;
 import com.dougdomingos.expensetracker.testutils.APITestClient;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -69,6 +96,18 @@ public class TransactionControllerTest {
     @Autowired
     TransactionRepository transactionRepository;
 
+    @Autowired
+    MonthlyBalanceRepository monthlyBalanceRepository;
+
+    @Autowired
+    JobCheckpointRepository jobCheckpointRepository;
+
+    @Autowired
+    JobLeaseRepository jobLeaseRepository;
+
+    @Autowired
+    JobLeaseService jobLeaseService;
+
     @Autowired
     RecurrentTransactionService recurrentTransactionService;
 
@@ -272,8 +311,9 @@ public class TransactionControllerTest {
 
             String responseJSON = apiClient.makeGetRequest(null, status().isOk());
 
-            List<TransactionResponseDTO> result = objectMapper.readValue(responseJSON, new TypeReference<>() {
-            });
+            List<TransactionResponseDTO> result = objectMapper
+                    .readValue(responseJSON, TransactionPageResponseDTO.class)
+                    .getTransactions();
 
             assertAll(
                     () -> assertEquals(1, result.size()),
@@ -289,8 +329,9 @@ public class TransactionControllerTest {
 
             String responseJSON = apiClient.makeGetRequest(null, status().isOk());
 
-            List<TransactionResponseDTO> result = objectMapper.readValue(responseJSON, new TypeReference<>() {
-            });
+            List<TransactionResponseDTO> result = objectMapper
+                    .readValue(responseJSON, TransactionPageResponseDTO.class)
+                    .getTransactions();
 
             assertAll(
                     () -> assertEquals(1, result.size()),
@@ -302,9 +343,11 @@ public class TransactionControllerTest {
         @DisplayName("Returns all the transactions of a user")
         void whenListTransactions_withoutFilter_expectToListAllTransactions() throws Exception {
             String responseJSON = apiClient.makeGetRequest(null, status().isOk());
+            assertQueryCount(apiClient, 1);
 
-            List<TransactionResponseDTO> result = objectMapper.readValue(responseJSON, new TypeReference<>() {
-            });
+            List<TransactionResponseDTO> result = objectMapper
+                    .readValue(responseJSON, TransactionPageResponseDTO.class)
+                    .getTransactions();
 
             assertAll(
                     () -> assertEquals(2, result.size()),
@@ -312,6 +355,47 @@ public class TransactionControllerTest {
                     () -> assertEquals(1, countTransactionsByType(TransactionType.EXPENSE, result)));
         }
 
+        @Test
+        @DisplayName("Paginates transactions through the next cursor")
+        void whenListTransactions_withLimit_expectToPaginateWithCursor() throws Exception {
+            createTestTransaction(TransactionType.INCOME, 0);
+            requestParams.add("limit", "2");
+            apiClient.setParams(requestParams);
+
+            TransactionPageResponseDTO firstPage = objectMapper.readValue(
+                    apiClient.makeGetRequest(null, status().isOk()),
+                    TransactionPageResponseDTO.class);
+
+            requestParams.add("cursor", firstPage.getNext());
+            TransactionPageResponseDTO secondPage = objectMapper.readValue(
+                    apiClient.makeGetRequest(null, status().isOk()),
+                    TransactionPageResponseDTO.class);
+            assertQueryCount(apiClient, 1);
+
+            assertAll(
+                    () -> assertEquals(2, firstPage.getTransactions().size()),
+                    () -> assertNotNull(firstPage.getNext()),
+                    () -> assertEquals(1, secondPage.getTransactions().size()),
+                    () -> assertNull(secondPage.getNext()),
+                    () -> assertTrue(firstPage.getTransactions().get(1).getId() > secondPage.getTransactions().get(0).getId()));
+        }
+
+        @Test
+        @DisplayName("Rejects listing transactions with malformed cursor")
+        void whenListTransactions_withMalformedCursor_expectToFail() throws Exception {
+            requestParams.add("cursor", "not-a-cursor");
+            apiClient.setParams(requestParams);
+
+            String responseJSON = apiClient.makeGetRequest(null, status().isBadRequest());
+
+            ApplicationErrorType result = objectMapper.readValue(
+                    responseJSON,
+                    ApplicationErrorType.class);
+
+            assertAll(
+                    () -> assertEquals("Specified pagination cursor is invalid", result.getMessage()));
+        }
+
         @Test
         @DisplayName("Rejects listing transactions with inexistent type")
         void whenListTransactions_withInexistentType_expectToFail() throws Exception {
@@ -367,6 +451,45 @@ public class TransactionControllerTest {
                     () -> assertEquals(250, result.getBalance()));
         }
 
+        @Test
+        @DisplayName("Calculating balance of a specified month only considers that month")
+        void whenCalculatingBalance_withSpecifiedMonth_expectToCountOnlyThatMonth() throws Exception {
+            transactionRepository.save(Transaction.builder()
+                    .transactionType(TransactionType.INCOME)
+                    .title("Old income")
+                    .amount(300D)
+                    .createdAt(LocalDateTime.of(2000, 1, 15, 12, 0, 0))
+                    .owner(testUser)
+                    .build());
+
+            transactionRepository.save(Transaction.builder()
+                    .transactionType(TransactionType.EXPENSE)
+                    .title("Old expense")
+                    .amount(-100D)
+                    .createdAt(LocalDateTime.of(2000, 1, 31, 23, 59, 59))
+                    .owner(testUser)
+                    .build());
+
+            createTestTransaction(TransactionType.INCOME, 250);
+
+            MultiValueMap<String, String> requestParams = new LinkedMultiValueMap<>();
+            requestParams.add("month", "2000-01");
+            apiClient.setParams(requestParams);
+
+            String responseJSON = apiClient.makeGetRequest(null, status().isOk());
+
+            BalanceResponseDTO result = objectMapper
+                    .readValue(responseJSON, BalanceResponseDTO.BalanceResponseDTOBuilder.class)
+                    .build();
+
+            assertAll(
+                    () -> assertEquals(Month.JANUARY.getDisplayName(TextStyle.FULL, Locale.getDefault()),
+                            result.getCurrentMonth()),
+                    () -> assertEquals(300, result.getIncome()),
+                    () -> assertEquals(-100, result.getExpense()),
+                    () -> assertEquals(200, result.getBalance()));
+        }
+
         @Test
         @DisplayName("Calculating balance with no transactions returns zero")
         void whenCalculatingBalance_withNoTransactions_expectToReturnZero() throws Exception {
@@ -416,12 +539,153 @@ public class TransactionControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("Monthly balance ledger tests")
+    class BalanceLedgerTests {
+
+        @Test
+        @DisplayName("Transaction writes keep the monthly balance ledger up to date")
+        void whenWritingTransactions_expectLedgerToFollow() throws Exception {
+            apiClient.makePostRequest(CreateTransactionDTO.builder()
+                    .transactionType(TransactionType.INCOME)
+                    .title("Income")
+                    .amount(300D)
+                    .build(), status().isCreated());
+
+            TransactionResponseDTO expense = objectMapper.readValue(
+                    apiClient.makePostRequest(CreateTransactionDTO.builder()
+                            .transactionType(TransactionType.EXPENSE)
+                            .title("Expense")
+                            .amount(100D)
+                            .build(), status().isCreated()),
+                    TransactionResponseDTO.class);
+
+            apiClient.setRoute("/" + expense.getId());
+            apiClient.makePutRequest(EditTransactionDTO.builder()
+                    .title("Expense")
+                    .amount(-50D)
+                    .build(), status().isOk());
+
+            MonthlyBalance ledgerAfterEdit = monthlyBalanceRepository
+                    .findById(MonthlyBalanceId.of(testUser.getUserId(), YearMonth.now()))
+                    .orElseThrow();
+
+            apiClient.makeDeleteRequest(null, status().isNoContent());
+
+            MonthlyBalance ledgerAfterRemoval = monthlyBalanceRepository
+                    .findById(MonthlyBalanceId.of(testUser.getUserId(), YearMonth.now()))
+                    .orElseThrow();
+
+            assertAll(
+                    () -> assertEquals(300, ledgerAfterEdit.getIncome()),
+                    () -> assertEquals(-50, ledgerAfterEdit.getExpense()),
+                    () -> assertEquals(300, ledgerAfterRemoval.getIncome()),
+                    () -> assertEquals(0, ledgerAfterRemoval.getExpense()));
+        }
+
+        @Test
+        @DisplayName("Balance reflects transactions created after a cached read")
+        void whenCalculatingBalance_afterCreatingTransaction_expectFreshBalance() throws Exception {
+            apiClient.setRoute("/balance");
+            BalanceResponseDTO before = objectMapper
+                    .readValue(apiClient.makeGetRequest(null, status().isOk()),
+                            BalanceResponseDTO.BalanceResponseDTOBuilder.class)
+                    .build();
+
+            apiClient.setRoute("");
+            apiClient.makePostRequest(CreateTransactionDTO.builder()
+                    .transactionType(TransactionType.INCOME)
+                    .title("Income")
+                    .amount(300D)
+                    .build(), status().isCreated());
+
+            apiClient.setRoute("/balance");
+            BalanceResponseDTO after = objectMapper
+                    .readValue(apiClient.makeGetRequest(null, status().isOk()),
+                            BalanceResponseDTO.BalanceResponseDTOBuilder.class)
+                    .build();
+
+            assertAll(
+                    () -> assertEquals(0, before.getBalance()),
+                    () -> assertEquals(300, after.getBalance()));
+        }
+
+        @Test
+        @DisplayName("Concurrent first writes of a month all land in the ledger")
+        void whenWritingConcurrently_toNewMonth_expectEveryWriteInLedger() throws Exception {
+            int writers = 8;
+            CyclicBarrier start = new CyclicBarrier(writers);
+            ExecutorService executor = Executors.newFixedThreadPool(writers);
+            List<Future<?>> writes = new ArrayList<>();
+
+            try {
+                for (int i = 0; i < writers; i++) {
+                    writes.add(executor.submit(() -> {
+                        APITestClient writerClient = new APITestClient("/transactions");
+                        writerClient.setDriver(driver);
+                        writerClient.setAuthToken(tokenGenerator.generateToken(testUser, 120L));
+
+                        start.await();
+                        return writerClient.makePostRequest(CreateTransactionDTO.builder()
+                                .transactionType(TransactionType.INCOME)
+                                .title("Income")
+                                .amount(10D)
+                                .build(), status().isCreated());
+                    }));
+                }
+
+                for (Future<?> write : writes) {
+                    write.get(30, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            MonthlyBalance ledger = monthlyBalanceRepository
+                    .findById(MonthlyBalanceId.of(testUser.getUserId(), YearMonth.now()))
+                    .orElseThrow();
+
+            assertEquals(10D * writers, ledger.getIncome());
+        }
+
+        @Test
+        @DisplayName("Verifying the ledger detects and repairs drifted balances")
+        void whenVerifyingLedger_withDriftedBalance_expectToRepair() throws Exception {
+            createTestTransaction(TransactionType.INCOME, 200);
+            monthlyBalanceRepository.save(MonthlyBalance.builder()
+                    .id(MonthlyBalanceId.of(testUser.getUserId(), YearMonth.now()))
+                    .income(999D)
+                    .build());
+
+            MultiValueMap<String, String> requestParams = new LinkedMultiValueMap<>();
+            requestParams.add("repair", "true");
+            apiClient.setParams(requestParams);
+            apiClient.setRoute("/balance/verify");
+
+            LedgerVerificationReportDTO report = objectMapper.readValue(
+                    apiClient.makePostRequest(null, status().isOk()),
+                    LedgerVerificationReportDTO.class);
+
+            MonthlyBalance repaired = monthlyBalanceRepository
+                    .findById(MonthlyBalanceId.of(testUser.getUserId(), YearMonth.now()))
+                    .orElseThrow();
+
+            assertAll(
+                    () -> assertEquals(1, report.getDriftedBalances()),
+                    () -> assertEquals(0, report.getFailedChunks()),
+                    () -> assertEquals(200, repaired.getIncome()),
+                    () -> assertEquals(0, repaired.getExpense()));
+        }
+    }
+
     @Nested
     @DisplayName("Transaction recurrence tests")
     class TransactionRecurrenceTests {
 
         @BeforeEach
         void setup() {
+            jobCheckpointRepository.deleteAll();
+
             transactionRepository.save(Transaction.builder()
                     .transactionType(TransactionType.INCOME)
                     .isRecurrent(true)
@@ -457,6 +721,219 @@ public class TransactionControllerTest {
                     () -> assertTrue(newRecord.isRecurrent()),
                     () -> assertTrue(newRecord.getCreatedAt().isAfter(oldRecord.getCreatedAt())));
         }
+
+        @Test
+        @DisplayName("An interrupted rollover resumes after its last committed chunk")
+        void whenUpdatingRecurrentTransactions_withInterruptedRun_expectToResume() {
+            Transaction alreadyRolledOver = transactionRepository.findByIsRecurrentTrue().get(0);
+            Transaction pending = transactionRepository.save(Transaction.builder()
+                    .transactionType(TransactionType.EXPENSE)
+                    .isRecurrent(true)
+                    .title("Pending recurrent transaction")
+                    .amount(-100D)
+                    .owner(testUser)
+                    .build());
+
+            jobCheckpointRepository.save(JobCheckpoint.builder()
+                    .jobName("recurrent-transactions-rollover")
+                    .targetMonth(YearMonth.now().toString())
+                    .upperBoundId(pending.getTransactionId())
+                    .lastProcessedId(alreadyRolledOver.getTransactionId())
+                    .startedAt(LocalDateTime.now())
+                    .build());
+
+            recurrentTransactionService.updateRecurrentTransactionsOnDB();
+
+            List<Transaction> transactions = transactionRepository.findByOwner(testUser);
+
+            assertAll(
+                    () -> assertEquals(3, transactions.size()),
+                    () -> assertTrue(transactionRepository.findById(alreadyRolledOver.getTransactionId())
+                            .orElseThrow().isRecurrent()),
+                    () -> assertFalse(transactionRepository.findById(pending.getTransactionId())
+                            .orElseThrow().isRecurrent()),
+                    () -> assertTrue(jobCheckpointRepository.findById("recurrent-transactions-rollover")
+                            .orElseThrow().isCompleted()));
+        }
+
+        @Test
+        @DisplayName("An unfinished rollover of a past month is finished before the current month rolls over")
+        void whenUpdatingRecurrentTransactions_withUnfinishedPastMonth_expectBothMonthsRolledOver() {
+            Transaction recurrent = transactionRepository.findByIsRecurrentTrue().get(0);
+            YearMonth lastMonth = YearMonth.now().minusMonths(1);
+
+            jobCheckpointRepository.save(JobCheckpoint.builder()
+                    .jobName("recurrent-transactions-rollover")
+                    .targetMonth(lastMonth.toString())
+                    .upperBoundId(recurrent.getTransactionId())
+                    .lastProcessedId(0L)
+                    .startedAt(lastMonth.atDay(1).atStartOfDay())
+                    .build());
+
+            recurrentTransactionService.updateRecurrentTransactionsOnDB();
+
+            List<Transaction> transactions = transactionRepository.findByOwner(testUser);
+            JobCheckpoint checkpoint = jobCheckpointRepository.findById("recurrent-transactions-rollover")
+                    .orElseThrow();
+
+            assertAll(
+                    () -> assertEquals(3, transactions.size()),
+                    () -> assertEquals(1, transactions.stream().filter(Transaction::isRecurrent).count()),
+                    () -> assertEquals(1, transactions.stream()
+                            .filter((transaction) -> YearMonth.from(transaction.getCreatedAt()).equals(lastMonth))
+                            .count()),
+                    () -> assertEquals(YearMonth.now().toString(), checkpoint.getTargetMonth()),
+                    () -> assertTrue(checkpoint.isCompleted()));
+        }
+
+        @Test
+        @DisplayName("A rollover of incomes and expenses of a user seeds the monthly ledger once")
+        void whenUpdatingRecurrentTransactions_withIncomeAndExpense_expectLedgerCountedOnce() {
+            transactionRepository.save(Transaction.builder()
+                    .transactionType(TransactionType.EXPENSE)
+                    .isRecurrent(true)
+                    .title("Recurrent expense")
+                    .amount(-100D)
+                    .owner(testUser)
+                    .build());
+            monthlyBalanceRepository.deleteAll();
+
+            recurrentTransactionService.updateRecurrentTransactionsOnDB();
+
+            MonthlyBalance ledger = monthlyBalanceRepository
+                    .findById(MonthlyBalanceId.of(testUser.getUserId(), YearMonth.now()))
+                    .orElseThrow();
+
+            assertAll(
+                    () -> assertEquals(1000, ledger.getIncome()),
+                    () -> assertEquals(-200, ledger.getExpense()));
+        }
+
+        @Test
+        @DisplayName("A month is rolled over only once")
+        void whenUpdatingRecurrentTransactions_twiceInTheSameMonth_expectSingleRollover() {
+            recurrentTransactionService.updateRecurrentTransactionsOnDB();
+            recurrentTransactionService.updateRecurrentTransactionsOnDB();
+            recurrentTransactionService.updateRecurrentTransactionsPartitioned(3);
+
+            assertEquals(2, transactionRepository.findByOwner(testUser).size());
+        }
+
+        @Test
+        @DisplayName("A partitioned rollover reports every partition and finishes the run")
+        void whenUpdatingRecurrentTransactions_withPartitions_expectReportPerPartition() {
+            int numTransactionsBeforeUpdate = transactionRepository.findByIsRecurrentTrue().size();
+
+            List<RolloverPartitionReport> reports = recurrentTransactionService
+                    .updateRecurrentTransactionsPartitioned(3);
+
+            assertAll(
+                    () -> assertEquals(3, reports.size()),
+                    () -> assertTrue(reports.stream().noneMatch(RolloverPartitionReport::isFailed)),
+                    () -> assertEquals(numTransactionsBeforeUpdate,
+                            reports.stream().mapToLong(RolloverPartitionReport::getRows).sum()),
+                    () -> assertEquals(numTransactionsBeforeUpdate,
+                            transactionRepository.findByIsRecurrentTrue().size()),
+                    () -> assertEquals(2, transactionRepository.findByOwner(testUser).size()),
+                    () -> assertTrue(jobCheckpointRepository.findById("recurrent-transactions-rollover")
+                            .orElseThrow().isCompleted()));
+        }
+
+        @Test
+        @DisplayName("A partitioned rollover also rolls over transactions without an owner")
+        void whenUpdatingRecurrentTransactions_withPartitionsAndOwnerlessTransaction_expectItRolledOver() {
+            Transaction ownerless = transactionRepository.save(Transaction.builder()
+                    .transactionType(TransactionType.EXPENSE)
+                    .isRecurrent(true)
+                    .title("Ownerless recurrent transaction")
+                    .amount(-50D)
+                    .build());
+
+            List<RolloverPartitionReport> reports = recurrentTransactionService
+                    .updateRecurrentTransactionsPartitioned(3);
+
+            List<Transaction> ownerlessCopies = transactionRepository.findByIsRecurrentTrue().stream()
+                    .filter((transaction) -> transaction.getOwner() == null)
+                    .filter((transaction) -> !transaction.getTransactionId().equals(ownerless.getTransactionId()))
+                    .toList();
+
+            transactionRepository.deleteAll(ownerlessCopies);
+            transactionRepository.deleteById(ownerless.getTransactionId());
+
+            assertAll(
+                    () -> assertEquals(2, reports.stream().mapToLong(RolloverPartitionReport::getRows).sum()),
+                    () -> assertEquals(1, ownerlessCopies.size()),
+                    () -> assertTrue(jobCheckpointRepository.findById("recurrent-transactions-rollover")
+                            .orElseThrow().isCompleted()));
+        }
+
+        @Test
+        @DisplayName("Scheduled jobs are skipped while another node holds their lease")
+        void whenRunningScheduledJob_withLeaseHeldByOtherNode_expectToSkip() {
+            jobLeaseRepository.save(JobLease.builder()
+                    .jobName("test-job")
+                    .lockedBy("other-node")
+                    .lockedAt(LocalDateTime.now())
+                    .lockedUntil(LocalDateTime.now().plusHours(1))
+                    .build());
+
+            AtomicBoolean ran = new AtomicBoolean(false);
+            boolean acquired = jobLeaseService.runExclusively("test-job", () -> ran.set(true));
+
+            jobLeaseRepository.deleteById("test-job");
+
+            assertAll(
+                    () -> assertFalse(acquired),
+                    () -> assertFalse(ran.get()));
+        }
+
+        @Test
+        @DisplayName("Scheduled jobs take over an expired lease and keep it for the minimum duration")
+        void whenRunningScheduledJob_withExpiredLease_expectToRunOnce() {
+            jobLeaseRepository.save(JobLease.builder()
+                    .jobName("test-job")
+                    .lockedBy("dead-node")
+                    .lockedAt(LocalDateTime.now().minusHours(3))
+                    .lockedUntil(LocalDateTime.now().minusHours(1))
+                    .build());
+
+            AtomicInteger runs = new AtomicInteger();
+            boolean firstRun = jobLeaseService.runExclusively("test-job", runs::incrementAndGet);
+            boolean secondRun = jobLeaseService.runExclusively("test-job", runs::incrementAndGet);
+
+            jobLeaseRepository.deleteById("test-job");
+
+            assertAll(
+                    () -> assertTrue(firstRun),
+                    () -> assertFalse(secondRun),
+                    () -> assertEquals(1, runs.get()));
+        }
+
+        @Test
+        @DisplayName("Running jobs renew their lease until another node takes it over")
+        void whenRenewingLease_expectToExtendItUntilTakenOver() {
+            AtomicReference<LocalDateTime> renewedUntil = new AtomicReference<>();
+
+            assertThrows(JobLeaseLostException.class, () -> jobLeaseService.runExclusively("test-job", () -> {
+                JobLease lease = jobLeaseRepository.findById("test-job").orElseThrow();
+                lease.setLockedUntil(LocalDateTime.now().minusMinutes(1));
+                jobLeaseRepository.save(lease);
+
+                jobLeaseService.renewLease("test-job");
+
+                JobLease renewed = jobLeaseRepository.findById("test-job").orElseThrow();
+                renewedUntil.set(renewed.getLockedUntil());
+
+                renewed.setLockedBy("other-node");
+                jobLeaseRepository.save(renewed);
+
+                jobLeaseService.renewLease("test-job");
+            }));
+
+            jobLeaseRepository.deleteById("test-job");
+
+            assertTrue(renewedUntil.get().isAfter(LocalDateTime.now().plusHours(1)));
+        }
     }
 
     @Nested
@@ -2,11 +2,16 @@ package com.dougdomingos.expensetracker.controllers;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,21 +22,30 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import com.dougdomingos.expensetracker.dto.cache.CacheStatisticsDTO;
 import com.dougdomingos.expensetracker.dto.user.CreateNewUserDTO;
 import com.dougdomingos.expensetracker.dto.user.LoginRequestDTO;
 import com.dougdomingos.expensetracker.dto.user.LoginResponseDTO;
+import com.dougdomingos.expensetracker.dto.user.RefreshTokenRequestDTO;
 import com.dougdomingos.expensetracker.entities.user.Role;
 import com.dougdomingos.expensetracker.entities.user.Role.TypeRole;
 import com.dougdomingos.expensetracker.entities.user.User;
 import com.dougdomingos.expensetracker.exceptions.ApplicationErrorType;
 import com.dougdomingos.expensetracker.repositories.RolesRepository;
 import com.dougdomingos.expensetracker.repositories.UserRepository;
+import com.dougdomingos.expensetracker.services.cache.AbstractCacheInvalidationBus;
+import com.dougdomingos.expensetracker.services.cache.CacheInvalidation;
+import com.dougdomingos.expensetracker.services.cache.CacheInvalidationBus;
 import com.dougdomingos.expensetracker.testutils.APITestClient;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @SpringBootTest
@@ -57,11 +71,17 @@ public class UserControllerTest {
     CommandLineRunner dataInitializer;
 
     @Autowired
-    BCryptPasswordEncoder passwordEncoder;
+    PasswordEncoder passwordEncoder;
 
     @Autowired
     JwtDecoder jwtDecoder;
 
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    CacheInvalidationBus invalidationBus;
+
     @BeforeEach
     void setup() throws Exception {
         dataInitializer.run();
@@ -370,6 +390,232 @@ public class UserControllerTest {
                     () -> assertNotNull(result.getAccessToken()),
                     () -> assertNotNull(result.getExpiresIn()));
         }
+
+        @Test
+        @DisplayName("Accept login right after signing up with a username looked up before")
+        void whenLogin_afterSignUpOfPreviouslyMissingUser_expectToPass() throws Exception {
+            LoginRequestDTO loginRequest = LoginRequestDTO.builder()
+                    .username("Late User")
+                    .password("late_passwd")
+                    .build();
+
+            apiClient.setRoute("/login");
+            apiClient.makePostRequest(loginRequest, status().isBadRequest());
+
+            apiClient.setRoute("");
+            apiClient.makePostRequest(CreateNewUserDTO.builder()
+                    .username("Late User")
+                    .password("late_passwd")
+                    .build(), status().isCreated());
+
+            apiClient.setRoute("/login");
+            String responseJSON = apiClient.makePostRequest(loginRequest, status().isOk());
+
+            LoginResponseDTO result = objectMapper
+                    .readValue(responseJSON, LoginResponseDTO.LoginResponseDTOBuilder.class)
+                    .build();
+
+            assertNotNull(result.getAccessToken());
+        }
+
+        @Test
+        @DisplayName("Rehashes a password stored with another cost on login")
+        void whenLogin_withPasswordHashedAtAnotherCost_expectRehash() throws Exception {
+            User legacyUser = userRepository.save(User.builder()
+                    .username("Legacy User")
+                    .password(new BCryptPasswordEncoder(4).encode("legacy123"))
+                    .build());
+
+            LoginRequestDTO loginRequest = LoginRequestDTO.builder()
+                    .username("Legacy User")
+                    .password("legacy123")
+                    .build();
+
+            apiClient.setRoute("/login");
+            apiClient.makePostRequest(loginRequest, status().isOk());
+
+            String rehashedPassword = userRepository.findById(legacyUser.getUserId()).get().getPassword();
+
+            assertAll(
+                    () -> assertTrue(rehashedPassword.startsWith("{bcrypt}$2a$10$")),
+                    () -> assertTrue(passwordEncoder.matches("legacy123", rehashedPassword)),
+                    () -> assertEquals(rehashedPassword,
+                            userRepository.findByUsername("Legacy User").get().getPassword()));
+
+            apiClient.makePostRequest(loginRequest, status().isOk());
+        }
+
+        @Test
+        @DisplayName("Exposes cache statistics to admins")
+        void whenReadingCacheStatistics_asAdmin_expectToPass() throws Exception {
+            apiClient.setRoute("/login");
+            String loginJSON = apiClient.makePostRequest(LoginRequestDTO.builder()
+                    .username("admin")
+                    .password("admin")
+                    .build(), status().isOk());
+
+            APITestClient cacheClient = new APITestClient("/caches");
+            cacheClient.setDriver(driver);
+            cacheClient.setAuthToken(objectMapper
+                    .readValue(loginJSON, LoginResponseDTO.LoginResponseDTOBuilder.class)
+                    .build()
+                    .getAccessToken());
+
+            List<CacheStatisticsDTO> result = objectMapper.readValue(
+                    cacheClient.makeGetRequest(null, status().isOk()),
+                    new TypeReference<>() {
+                    });
+
+            CacheStatisticsDTO usersByName = result.stream()
+                    .filter((stats) -> stats.getName().equals("usersByName"))
+                    .findFirst()
+                    .orElseThrow();
+
+            assertAll(
+                    () -> assertTrue(usersByName.getMissCount() + usersByName.getHitCount() > 0),
+                    () -> assertTrue(result.stream().anyMatch((stats) -> stats.getName().equals("rolesByName"))));
+        }
+
+        @Test
+        @DisplayName("Broadcasts the evictions caused by signing up")
+        void whenCreateUser_expectEvictionToBeBroadcast() throws Exception {
+            List<CacheInvalidation> messages = new CopyOnWriteArrayList<>();
+            invalidationBus.subscribe(messages::add);
+
+            apiClient.makePostRequest(CreateNewUserDTO.builder()
+                    .username("Broadcast User")
+                    .password("test_passwd")
+                    .build(), status().isCreated());
+
+            assertTrue(messages.stream().anyMatch((message) -> message.getCacheName().equals("usersByName")
+                    && message.getKey().equals("Broadcast User")
+                    && message.getNodeId().equals(invalidationBus.getNodeId())));
+        }
+
+        @Test
+        @DisplayName("Tells an eviction of an empty key apart from clearing the cache")
+        void whenEncodingInvalidations_expectEmptyKeyNotToClear() {
+            CacheInvalidation emptyKey = CacheInvalidation.decode(
+                    new CacheInvalidation("other-node", "usersByName", "").encode());
+            CacheInvalidation clear = CacheInvalidation.decode(
+                    new CacheInvalidation("other-node", "usersByName", null).encode());
+
+            assertAll(
+                    () -> assertEquals("", emptyKey.getKey()),
+                    () -> assertFalse(emptyKey.isClear()),
+                    () -> assertTrue(clear.isClear()),
+                    () -> assertEquals("usersByName", clear.getCacheName()));
+        }
+
+        @Test
+        @DisplayName("Applies evictions broadcast by other nodes")
+        void whenReceivingRemoteEviction_expectLocalEntryToBeEvicted() {
+            userRepository.findByUsername("admin");
+            Cache usersByName = cacheManager.getCache("usersByName");
+            boolean cachedBefore = usersByName.get("admin") != null;
+
+            ((AbstractCacheInvalidationBus) invalidationBus).deliver(CacheInvalidation.builder()
+                    .nodeId("other-node")
+                    .cacheName("usersByName")
+                    .key("admin")
+                    .build());
+
+            assertAll(
+                    () -> assertTrue(cachedBefore),
+                    () -> assertNull(usersByName.get("admin")));
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for refresh tokens")
+    class RefreshTokenTests {
+
+        @Test
+        @DisplayName("Accept trading a refresh token for new tokens")
+        void whenRefreshing_withValidToken_expectNewTokens() throws Exception {
+            LoginResponseDTO login = login("User 001", "test123");
+
+            LoginResponseDTO refreshed = refresh(login.getRefreshToken());
+
+            assertAll(
+                    () -> assertNotNull(refreshed.getAccessToken()),
+                    () -> assertNotNull(refreshed.getRefreshToken()),
+                    () -> assertNotEquals(login.getRefreshToken(), refreshed.getRefreshToken()),
+                    () -> assertEquals(login.getRefreshExpiresIn(), refreshed.getRefreshExpiresIn()),
+                    () -> assertEquals(
+                            jwtDecoder.decode(login.getAccessToken()).getSubject(),
+                            jwtDecoder.decode(refreshed.getAccessToken()).getSubject()));
+        }
+
+        @Test
+        @DisplayName("Rejects reusing a refresh token, revoking the tokens rotated from it")
+        void whenRefreshing_withUsedToken_expectFamilyRevoked() throws Exception {
+            LoginResponseDTO login = login("User 001", "test123");
+            LoginResponseDTO refreshed = refresh(login.getRefreshToken());
+
+            ApplicationErrorType error = refreshRejected(login.getRefreshToken());
+
+            assertAll(
+                    () -> assertEquals("Provided refresh token is invalid", error.getMessage()),
+                    () -> refreshRejected(refreshed.getRefreshToken()));
+        }
+
+        @Test
+        @DisplayName("Rejects refreshing with a revoked token")
+        void whenRefreshing_withRevokedToken_expectToFail() throws Exception {
+            LoginResponseDTO login = login("User 001", "test123");
+
+            apiClient.setRoute("/token/revoke");
+            apiClient.makePostRequest(new RefreshTokenRequestDTO(login.getRefreshToken()), status().isNoContent());
+
+            refreshRejected(login.getRefreshToken());
+        }
+
+        @Test
+        @DisplayName("Rejects refreshing with an unknown token")
+        void whenRefreshing_withUnknownToken_expectToFail() throws Exception {
+            refreshRejected("not-a-refresh-token");
+        }
+
+        @Test
+        @DisplayName("Rejects refreshing without a token")
+        void whenRefreshing_withBlankToken_expectToFail() throws Exception {
+            apiClient.setRoute("/token/refresh");
+            String responseJSON = apiClient.makePostRequest(new RefreshTokenRequestDTO(" "), status().isBadRequest());
+
+            ApplicationErrorType error = objectMapper.readValue(responseJSON, ApplicationErrorType.class);
+
+            assertTrue(error.getErrors().contains("Refresh token is required"));
+        }
+
+        private LoginResponseDTO login(String username, String password) throws Exception {
+            apiClient.setRoute("/login");
+            String responseJSON = apiClient.makePostRequest(
+                    new LoginRequestDTO(username, password),
+                    status().isOk());
+
+            return objectMapper
+                    .readValue(responseJSON, LoginResponseDTO.LoginResponseDTOBuilder.class)
+                    .build();
+        }
+
+        private LoginResponseDTO refresh(String refreshToken) throws Exception {
+            apiClient.setRoute("/token/refresh");
+            String responseJSON = apiClient.makePostRequest(new RefreshTokenRequestDTO(refreshToken), status().isOk());
+
+            return objectMapper
+                    .readValue(responseJSON, LoginResponseDTO.LoginResponseDTOBuilder.class)
+                    .build();
+        }
+
+        private ApplicationErrorType refreshRejected(String refreshToken) throws Exception {
+            apiClient.setRoute("/token/refresh");
+            String responseJSON = apiClient.makePostRequest(
+                    new RefreshTokenRequestDTO(refreshToken),
+                    status().isBadRequest());
+
+            return objectMapper.readValue(responseJSON, ApplicationErrorType.class);
+        }
     }
 
     /**
@@ -0,0 +1,315 @@
+package com.dougdomingos.expensetracker.load;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiConsumer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dougdomingos.expensetracker.auth.TokenGenerator;
+import com.dougdomingos.expensetracker.dto.transaction.CreateTransactionDTO;
+import com.dougdomingos.expensetracker.dto.transaction.EditTransactionDTO;
+import com.dougdomingos.expensetracker.entities.categories.Category;
+import com.dougdomingos.expensetracker.entities.transaction.Transaction;
+import com.dougdomingos.expensetracker.entities.transaction.TransactionType;
+import com.dougdomingos.expensetracker.entities.user.Role;
+import com.dougdomingos.expensetracker.entities.user.User;
+import com.dougdomingos.expensetracker.repositories.CategoryRepository;
+import com.dougdomingos.expensetracker.repositories.RolesRepository;
+import com.dougdomingos.expensetracker.repositories.TransactionRepository;
+import com.dougdomingos.expensetracker.repositories.UserRepository;
+import com.dougdomingos.expensetracker.testutils.load.EndpointStatistics;
+import com.dougdomingos.expensetracker.testutils.load.LatencyRecorder;
+import com.dougdomingos.expensetracker.testutils.load.LoadTestClient;
+import com.dougdomingos.expensetracker.testutils.load.LoadTestReport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Drives a mixed read/write workload against a real embedded server. Excluded
+ * from the regular build; run it with {@code ./mvnw -P load-test test} and
+ * tune it with the {@code load.*} system properties.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest;MODE=PostgreSQL",
+        "spring.jpa.properties.hibernate.show_sql=false"
+})
+@ActiveProfiles("dev")
+@DisplayName("Load test with a mixed read/write workload")
+public class MixedWorkloadLoadTest {
+
+    private static final int USERS = Integer.getInteger("load.users", 20);
+
+    private static final int TRANSACTIONS_PER_USER = Integer.getInteger("load.transactions", 200);
+
+    private static final int THREADS = Integer.getInteger("load.threads", 8);
+
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("load.warmup", 5));
+
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("load.duration", 30));
+
+    private static final Path REPORT_PATH = Path.of(System.getProperty("load.report", "target/load-test-report.json"));
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    RolesRepository rolesRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    TokenGenerator tokenGenerator;
+
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Serves the workload without errors and writes a latency report")
+    void whenRunningMixedWorkload_expectReportWithoutErrors() throws Exception {
+        List<LoadUser> users = seedUsers();
+
+        run(users, new LatencyRecorder(), WARMUP);
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        Instant startedAt = Instant.now();
+        double elapsedSeconds = run(users, recorder, DURATION);
+
+        List<EndpointStatistics> endpoints = recorder.summarize(elapsedSeconds);
+        long totalRequests = endpoints.stream().mapToLong(EndpointStatistics::getRequests).sum();
+        long totalErrors = endpoints.stream().mapToLong(EndpointStatistics::getErrors).sum();
+
+        LoadTestReport report = LoadTestReport.builder()
+                .startedAt(startedAt.toString())
+                .users(USERS)
+                .transactionsPerUser(TRANSACTIONS_PER_USER)
+                .threads(THREADS)
+                .elapsedSeconds(elapsedSeconds)
+                .totalRequests(totalRequests)
+                .totalErrors(totalErrors)
+                .throughputPerSecond(totalRequests / elapsedSeconds)
+                .endpoints(endpoints)
+                .build();
+
+        Files.createDirectories(REPORT_PATH.toAbsolutePath().getParent());
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(REPORT_PATH.toFile(), report);
+
+        assertAll(
+                () -> assertTrue(totalRequests > 0),
+                () -> assertEquals(0, totalErrors));
+    }
+
+    /**
+     * Runs the workload on all threads until the duration is over.
+     * 
+     * @return The actual duration of the run, in seconds
+     */
+    private double run(List<LoadUser> users, LatencyRecorder recorder, Duration duration) throws Exception {
+        LoadTestClient client = new LoadTestClient("http://localhost:" + port, recorder);
+        NavigableMap<Integer, BiConsumer<LoadTestClient, LoadUser>> workload = buildWorkload();
+        int totalWeight = workload.lastKey();
+
+        ExecutorService workers = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                results.add(workers.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        LoadUser user = users.get(random.nextInt(users.size()));
+                        workload.higherEntry(random.nextInt(totalWeight)).getValue().accept(client, user);
+                    }
+                }));
+            }
+
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+
+        return (System.nanoTime() - start) / 1e9;
+    }
+
+    /**
+     * The traffic mix, keyed by cumulative weight. Reads dominate, as they do
+     * in production.
+     */
+    private NavigableMap<Integer, BiConsumer<LoadTestClient, LoadUser>> buildWorkload() {
+        NavigableMap<Integer, BiConsumer<LoadTestClient, LoadUser>> workload = new TreeMap<>();
+        int weight = 0;
+
+        workload.put(weight += 30, (client, user) -> client.send(
+                "GET /transactions", "GET", "/transactions?limit=50", null, user.token));
+
+        workload.put(weight += 20, (client, user) -> client.send(
+                "GET /transactions/balance", "GET", "/transactions/balance", null, user.token));
+
+        workload.put(weight += 15, (client, user) -> client.send(
+                "GET /categories", "GET", "/categories", null, user.token));
+
+        workload.put(weight += 10, (client, user) -> client.send(
+                "GET /transactions/{id}", "GET", "/transactions/" + user.randomTransaction(), null, user.token));
+
+        workload.put(weight += 5, (client, user) -> client.send(
+                "GET /categories/{id}/transactions", "GET",
+                "/categories/" + user.incomeCategoryId + "/transactions?limit=50", null, user.token));
+
+        workload.put(weight += 12, (client, user) -> client.send(
+                "POST /transactions", "POST", "/transactions",
+                CreateTransactionDTO.builder()
+                        .transactionType(TransactionType.EXPENSE)
+                        .title("Load test expense")
+                        .amount(ThreadLocalRandom.current().nextDouble(1, 100))
+                        .build(),
+                user.token));
+
+        workload.put(weight += 5, (client, user) -> client.send(
+                "PUT /transactions/{id}", "PUT", "/transactions/" + user.randomIncome(),
+                EditTransactionDTO.builder()
+                        .title("Edited income")
+                        .amount(ThreadLocalRandom.current().nextDouble(1, 100))
+                        .build(),
+                user.token));
+
+        workload.put(weight += 3, (client, user) -> client.send(
+                "POST /categories/{id}/transactions/{id}", "POST",
+                "/categories/" + user.incomeCategoryId + "/transactions/" + user.randomIncome(),
+                null, user.token));
+
+        return workload;
+    }
+
+    /**
+     * Creates the users, their categories and their transactions straight
+     * through the repositories, one DB transaction per user. Transactions are
+     * spread over the last three months.
+     */
+    private List<LoadUser> seedUsers() {
+        Role userRole = rolesRepository.findByRoleName(Role.TypeRole.USER).orElseThrow();
+        String password = passwordEncoder.encode("load-test");
+        LocalDateTime now = LocalDateTime.now();
+        List<LoadUser> users = new ArrayList<>();
+        TransactionTemplate seedTransaction = new TransactionTemplate(transactionManager);
+
+        for (int index = 0; index < USERS; index++) {
+            int userIndex = index;
+            users.add(seedTransaction.execute((status) -> seedUser(userIndex, userRole, password, now)));
+        }
+
+        return users;
+    }
+
+    private LoadUser seedUser(int index, Role userRole, String password, LocalDateTime now) {
+        User user = userRepository.save(User.builder()
+                .username("load-user-" + index)
+                .password(password)
+                .roles(Set.of(rolesRepository.getReferenceById(userRole.getRoleId())))
+                .build());
+
+        Category incomeCategory = categoryRepository.save(Category.builder()
+                .name("Income")
+                .categoryType(TransactionType.INCOME)
+                .owner(user)
+                .build());
+
+        categoryRepository.save(Category.builder()
+                .name("Expenses")
+                .categoryType(TransactionType.EXPENSE)
+                .owner(user)
+                .build());
+
+        List<Transaction> transactions = new ArrayList<>();
+        for (int count = 0; count < TRANSACTIONS_PER_USER; count++) {
+            boolean income = count % 2 == 0;
+            transactions.add(Transaction.builder()
+                    .transactionType(income ? TransactionType.INCOME : TransactionType.EXPENSE)
+                    .title("Seeded transaction " + count)
+                    .amount(income ? 100.0 : -50.0)
+                    .createdAt(now.minusMinutes(count * 90L % (90 * 24 * 60)))
+                    .owner(user)
+                    .build());
+        }
+
+        LoadUser loadUser = new LoadUser(tokenGenerator.generateToken(user, 3600L), incomeCategory.getCategoryId());
+        for (Transaction transaction : transactionRepository.saveAll(transactions)) {
+            (TransactionType.INCOME.equals(transaction.getTransactionType())
+                    ? loadUser.incomeIds
+                    : loadUser.expenseIds).add(transaction.getTransactionId());
+        }
+
+        return loadUser;
+    }
+
+    /**
+     * A seeded user, with the IDs its requests refer to.
+     */
+    private static class LoadUser {
+
+        private final String token;
+
+        private final Long incomeCategoryId;
+
+        private final List<Long> incomeIds = new ArrayList<>();
+
+        private final List<Long> expenseIds = new ArrayList<>();
+
+        private LoadUser(String token, Long incomeCategoryId) {
+            this.token = token;
+            this.incomeCategoryId = incomeCategoryId;
+        }
+
+        private Long randomIncome() {
+            return incomeIds.get(ThreadLocalRandom.current().nextInt(incomeIds.size()));
+        }
+
+        private Long randomTransaction() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            return random.nextBoolean() || expenseIds.isEmpty()
+                    ? randomIncome()
+                    : expenseIds.get(random.nextInt(expenseIds.size()));
+        }
+    }
+}
@@ -9,6 +9,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.
 import java.nio.charset.StandardCharsets;
 
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultMatcher;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
@@ -16,6 +17,7 @@ import org.springframework.util.MultiValueMap;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 
@@ -41,6 +43,12 @@ public class APITestClient {
     @Setter
     private MultiValueMap<String, String> params;
 
+    /**
+     * The response of the last request, for assertions on its headers.
+     */
+    @Getter
+    private MockHttpServletResponse lastResponse;
+
     /**
      * Make a GET request to the specified route and returns the response.
      * 
@@ -131,10 +139,12 @@ public class APITestClient {
             request.params(params);
         }
 
-        return driver.perform(request)
+        lastResponse = driver.perform(request)
                 .andExpect(expectMatcher)
                 .andDo(print())
-                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+                .andReturn().getResponse();
+
+        return lastResponse.getContentAsString(StandardCharsets.UTF_8);
     }
 
 }
@@ -0,0 +1,37 @@
+package com.dougdomingos.expensetracker.testutils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import com.dougdomingos.expensetracker.monitoring.QueryCountFilter;
+
+/**
+ * Assertions on the number of SQL statements run by the last request of a
+ * client, as reported by the query count header of the dev profile. Pinning
+ * the count of an endpoint makes N+1 regressions fail the build.
+ */
+public class QueryCountAssertions {
+
+    /**
+     * Asserts that the last request ran exactly the expected statements.
+     * 
+     * @param apiClient The client that made the request
+     * @param expected  The expected number of SQL statements
+     */
+    public static void assertQueryCount(APITestClient apiClient, long expected) {
+        assertEquals(expected, getQueryCount(apiClient), "Unexpected number of SQL statements");
+    }
+
+    /**
+     * Returns the number of SQL statements run by the last request.
+     * 
+     * @param apiClient The client that made the request
+     * @return The number of statements
+     */
+    public static long getQueryCount(APITestClient apiClient) {
+        String header = apiClient.getLastResponse().getHeader(QueryCountFilter.QUERY_COUNT_HEADER);
+        assertNotNull(header, "Query count header missing; is the dev profile active?");
+
+        return Long.parseLong(header);
+    }
+}
@@ -0,0 +1,32 @@
+package com.dougdomingos.expensetracker.testutils.load;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Latency and throughput of a single endpoint during a load test.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EndpointStatistics {
+
+    private String endpoint;
+
+    private long requests;
+
+    private long errors;
+
+    private double throughputPerSecond;
+
+    private double p50Millis;
+
+    private double p95Millis;
+
+    private double p99Millis;
+
+    private double maxMillis;
+}
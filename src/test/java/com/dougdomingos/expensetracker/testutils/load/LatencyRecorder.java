@@ -0,0 +1,85 @@
+package com.dougdomingos.expensetracker.testutils.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe collector of request latencies, grouped by endpoint.
+ */
+public class LatencyRecorder {
+
+    private final Map<String, Samples> samplesByEndpoint = new ConcurrentHashMap<>();
+
+    /**
+     * Records a finished request.
+     * 
+     * @param endpoint     The endpoint, as a route template (e.g.
+     *                     {@code GET /transactions/{id}})
+     * @param elapsedNanos The latency of the request
+     * @param successful   Whether the response had the expected status
+     */
+    public void record(String endpoint, long elapsedNanos, boolean successful) {
+        Samples samples = samplesByEndpoint.computeIfAbsent(endpoint, (key) -> new Samples());
+        samples.latencies.add(elapsedNanos);
+        if (!successful) {
+            samples.errors.incrementAndGet();
+        }
+    }
+
+    /**
+     * Computes the statistics of every endpoint, in name order.
+     * 
+     * @param elapsedSeconds The duration of the run, used for the throughput
+     * @return The statistics of each endpoint
+     */
+    public List<EndpointStatistics> summarize(double elapsedSeconds) {
+        List<EndpointStatistics> statistics = new ArrayList<>();
+
+        samplesByEndpoint.entrySet()
+                .stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach((entry) -> {
+                    long[] latencies = entry.getValue().latencies
+                            .stream()
+                            .mapToLong(Long::longValue)
+                            .sorted()
+                            .toArray();
+
+                    statistics.add(EndpointStatistics.builder()
+                            .endpoint(entry.getKey())
+                            .requests(latencies.length)
+                            .errors(entry.getValue().errors.get())
+                            .throughputPerSecond(latencies.length / elapsedSeconds)
+                            .p50Millis(percentileMillis(latencies, 50))
+                            .p95Millis(percentileMillis(latencies, 95))
+                            .p99Millis(percentileMillis(latencies, 99))
+                            .maxMillis(percentileMillis(latencies, 100))
+                            .build());
+                });
+
+        return statistics;
+    }
+
+    /**
+     * Nearest-rank percentile of sorted latencies, in milliseconds.
+     */
+    private double percentileMillis(long[] sortedLatencies, double percentile) {
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+
+        int rank = (int) Math.ceil(percentile / 100 * sortedLatencies.length);
+        return sortedLatencies[Math.max(rank, 1) - 1] / 1_000_000.0;
+    }
+
+    private static class Samples {
+
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+
+        private final AtomicLong errors = new AtomicLong();
+    }
+}
@@ -0,0 +1,71 @@
+package com.dougdomingos.expensetracker.testutils.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Counterpart of {@code APITestClient} for load tests: sends real HTTP
+ * requests to a running server and records the latency of each one.
+ */
+@RequiredArgsConstructor
+public class LoadTestClient {
+
+    private final String baseUrl;
+
+    private final LatencyRecorder recorder;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    /**
+     * Sends a request and records its latency under the given endpoint.
+     * Responses outside the 2xx range are recorded as errors.
+     * 
+     * @param endpoint  The endpoint the latency is recorded under
+     * @param method    The HTTP method
+     * @param route     The route, relative to the base URL
+     * @param content   The request body, or {@code null}
+     * @param authToken The bearer token of the user
+     * @return The response body, or {@code null} if the request failed
+     */
+    public String send(String endpoint, String method, String route, Object content, String authToken) {
+        long start = System.nanoTime();
+        boolean successful = false;
+
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + route))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .header("Authorization", String.format("Bearer %s", authToken))
+                    .method(method, content == null
+                            ? BodyPublishers.noBody()
+                            : BodyPublishers.ofString(objectMapper.writeValueAsString(content)))
+                    .build();
+
+            HttpResponse<String> response = httpClient.send(request, BodyHandlers.ofString());
+            successful = response.statusCode() / 100 == 2;
+
+            return successful ? response.body() : null;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            recorder.record(endpoint, System.nanoTime() - start, successful);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.dougdomingos.expensetracker.testutils.load;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Machine-readable result of a load test run, written as JSON so that runs of
+ * different releases can be compared.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoadTestReport {
+
+    private String startedAt;
+
+    private int users;
+
+    private int transactionsPerUser;
+
+    private int threads;
+
+    private double elapsedSeconds;
+
+    private long totalRequests;
+
+    private long totalErrors;
+
+    private double throughputPerSecond;
+
+    private List<EndpointStatistics> endpoints;
+}